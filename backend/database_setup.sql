@@ -46,8 +46,8 @@ CREATE TABLE activities (
 );
 
 -- Create indexes for better performance
-CREATE INDEX idx_itineraries_user_id ON itineraries(user_id);
-CREATE INDEX idx_activities_itinerary_id ON activities(itinerary_id);
+CREATE INDEX idx_itineraries_user_start ON itineraries(user_id, start_date, id);
+CREATE INDEX idx_activities_itinerary_date_start ON activities(itinerary_id, date, start_time, id);
 CREATE INDEX idx_activities_date ON activities(date);
 
 -- Insert sample data for testing
@@ -62,3 +62,6 @@ INSERT INTO activities (name, location, start_time, duration, cost, date, latitu
 ('Visit Colosseum', 'Colosseum, Rome', '09:00:00', 120, 25.00, '2024-06-01', 41.8902, 12.4922, 'Book tickets in advance', 1),
 ('Lunch at Trattoria', 'Trattoria da Mario, Rome', '12:00:00', 90, 45.00, '2024-06-01', 41.9000, 12.5000, 'Try the carbonara', 1),
 ('Eiffel Tower Visit', 'Eiffel Tower, Paris', '10:00:00', 180, 30.00, '2024-07-15', 48.8584, 2.2945, 'Go to the top floor', 2);
+
+-- Activity and itinerary ids are allocated in blocks of 50; the V2_1 Flyway migration switches the sequences
+-- over on the application's first start, past the sample rows above.
@@ -0,0 +1,40 @@
+#!/usr/bin/env bash
+# Compares the default platform-thread request model with virtual threads under the same load.
+# Starts the application twice against the configured PostgreSQL database and runs the
+# load generator against both. Extra arguments are passed to Gradle, e.g. -PloadTest.clients=500
+set -euo pipefail
+cd "$(dirname "$0")"
+
+gradle bootJar -q
+JAR=$(ls build/libs/*-SNAPSHOT.jar | grep -v plain | head -1)
+
+start() {
+  java -jar "$JAR" --server.port="$1" --spring.threads.virtual.enabled="$2" \
+    --spring.jpa.show-sql=false > "build/load-test-$1.log" 2>&1 &
+  echo $!
+}
+
+wait_until_up() {
+  for _ in $(seq 1 60); do
+    if curl -fs "http://localhost:$1/actuator/health" > /dev/null; then
+      return
+    fi
+    sleep 1
+  done
+  echo "Application on port $1 did not start" >&2
+  exit 1
+}
+
+run() {
+  local pid
+  pid=$(start "$2" "$3")
+  trap 'kill $pid 2>/dev/null || true' EXIT
+  wait_until_up "$2"
+  gradle loadTest -q -PloadTest.targets="$1=http://localhost:$2" "${@:4}"
+  kill "$pid"
+  wait "$pid" 2>/dev/null || true
+  trap - EXIT
+}
+
+run platform 8081 false "$@"
+run virtual 8082 true "$@"
@@ -0,0 +1,70 @@
+package com.example.vacationPlanner.controller;
+
+import com.example.vacationPlanner.model.dto.ActivityDTO;
+import com.example.vacationPlanner.service.ActivityFixtures;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+// CPU cost of writing an activity list as JSON, Smile or CBOR, with and without the gzip step the server
+// applies. Payload sizes are printed once per trial since JMH only reports times.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class WireFormatBenchmark {
+
+    @Param({"1000", "10000"})
+    private int activityCount;
+
+    @Param({"json", "smile", "cbor"})
+    private String format;
+
+    private List<ActivityDTO> activities;
+    private ObjectWriter listWriter;
+
+    @Setup
+    public void setUp() throws IOException {
+        activities = ActivityFixtures.activityDTOs(activityCount);
+        Jackson2ObjectMapperBuilder builder = switch (format) {
+            case "smile" -> Jackson2ObjectMapperBuilder.smile();
+            case "cbor" -> Jackson2ObjectMapperBuilder.cbor();
+            default -> Jackson2ObjectMapperBuilder.json();
+        };
+        // Spring Boot writes dates and times as ISO strings in every format
+        ObjectMapper objectMapper = builder.featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build();
+        listWriter = objectMapper.writerFor(objectMapper.getTypeFactory()
+                .constructCollectionType(List.class, ActivityDTO.class));
+
+        System.out.printf(Locale.ROOT, "%n%s, %d activities: %d bytes, %d bytes gzipped%n",
+                format, activityCount, serialize().length, serializeGzipped().length);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return listWriter.writeValueAsBytes(activities);
+    }
+
+    @Benchmark
+    public byte[] serializeGzipped() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+            listWriter.writeValue(gzip, activities);
+        }
+        return bytes.toByteArray();
+    }
+}
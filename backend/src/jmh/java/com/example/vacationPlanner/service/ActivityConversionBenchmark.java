@@ -0,0 +1,48 @@
+package com.example.vacationPlanner.service;
+
+import com.example.vacationPlanner.model.Activity;
+import com.example.vacationPlanner.model.dto.ActivityDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ActivityConversionBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    private int activityCount;
+
+    private final ActivityService activityService = new ActivityService();
+    private List<Activity> activities;
+
+    @Setup
+    public void setUp() {
+        activities = ActivityFixtures.activities(activityCount);
+    }
+
+    @Benchmark
+    public List<ActivityDTO> convertToDTO() {
+        List<ActivityDTO> activityDTOs = new ArrayList<>(activities.size());
+        for (Activity activity : activities) {
+            activityDTOs.add(activityService.convertToDTO(activity));
+        }
+        return activityDTOs;
+    }
+
+    @Benchmark
+    public List<ActivityDTO> convertToDTOStream() {
+        return activities.stream()
+                .map(activityService::convertToDTO)
+                .toList();
+    }
+}
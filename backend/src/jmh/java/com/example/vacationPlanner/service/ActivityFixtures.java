@@ -0,0 +1,53 @@
+package com.example.vacationPlanner.service;
+
+import com.example.vacationPlanner.model.Activity;
+import com.example.vacationPlanner.model.Itinerary;
+import com.example.vacationPlanner.model.dto.ActivityDTO;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// Deterministic activity data shared by the benchmarks, spread over a two-week trip around Rome
+public final class ActivityFixtures {
+
+    private static final LocalDate TRIP_START = LocalDate.of(2024, 6, 1);
+    private static final int TRIP_DAYS = 14;
+
+    private ActivityFixtures() {
+    }
+
+    public static List<Activity> activities(int count) {
+        Random random = new Random(42);
+        Itinerary itinerary = new Itinerary();
+        itinerary.setId(1L);
+        List<Activity> activities = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Activity activity = new Activity();
+            activity.setId((long) i + 1);
+            activity.setName("Activity " + i);
+            activity.setLocation("Stop " + i + ", Rome");
+            activity.setStartTime(LocalTime.of(8 + random.nextInt(12), random.nextInt(4) * 15));
+            activity.setDuration(30 + random.nextInt(8) * 15);
+            activity.setCost(BigDecimal.valueOf(random.nextInt(20000), 2));
+            activity.setDate(TRIP_START.plusDays(random.nextInt(TRIP_DAYS)));
+            activity.setLatitude(41.85 + random.nextDouble() * 0.1);
+            activity.setLongitude(12.45 + random.nextDouble() * 0.1);
+            activity.setNotes(i % 3 == 0 ? "Book tickets in advance" : null);
+            activity.setItinerary(itinerary);
+            activities.add(activity);
+        }
+        return activities;
+    }
+
+    public static List<ActivityDTO> activityDTOs(int count) {
+        ActivityService activityService = new ActivityService();
+        List<ActivityDTO> activityDTOs = new ArrayList<>(count);
+        for (Activity activity : activities(count)) {
+            activityDTOs.add(activityService.convertToDTO(activity));
+        }
+        return activityDTOs;
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.vacationPlanner.service;
+
+import com.example.vacationPlanner.model.Money;
+import com.example.vacationPlanner.model.dto.ActivityDTO;
+import com.example.vacationPlanner.model.dto.BudgetSummaryDTO;
+import com.example.vacationPlanner.model.dto.DailyBudgetDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+// In-memory budget summation over activity lists: BigDecimal reductions against the same figures kept in cents
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BudgetBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    private int activityCount;
+
+    private List<ActivityDTO> activities;
+
+    private final ActivityService activityService = new ActivityService();
+
+    @Setup
+    public void setUp() {
+        activities = ActivityFixtures.activityDTOs(activityCount);
+        activities.sort(Comparator.comparing(ActivityDTO::getDate));
+    }
+
+    @Benchmark
+    public BigDecimal totalCost() {
+        return activities.stream()
+                .map(ActivityDTO::getCost)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    @Benchmark
+    public BigDecimal totalCostInMinorUnits() {
+        long total = 0;
+        for (ActivityDTO activity : activities) {
+            total = Math.addExact(total, Money.toMinorUnits(activity.getCost()));
+        }
+        return Money.fromMinorUnits(total);
+    }
+
+    @Benchmark
+    public Map<LocalDate, BigDecimal> dailyCosts() {
+        Map<LocalDate, BigDecimal> dailyCosts = new TreeMap<>();
+        for (ActivityDTO activity : activities) {
+            dailyCosts.merge(activity.getDate(), activity.getCost(), BigDecimal::add);
+        }
+        return dailyCosts;
+    }
+
+    // ActivityService.summarizeBudget as it was before BudgetTotals: sum, min, max and counts on the DTOs
+    @Benchmark
+    public BudgetSummaryDTO summarizeBudgetWithBigDecimal() {
+        BudgetSummaryDTO summary = new BudgetSummaryDTO(BigDecimal.ZERO, null, null, 0L, 0L);
+        List<DailyBudgetDTO> daily = new ArrayList<>();
+        DailyBudgetDTO day = null;
+        for (ActivityDTO activity : activities) {
+            if (day == null || !day.getDate().equals(activity.getDate())) {
+                day = new DailyBudgetDTO(activity.getDate(), BigDecimal.ZERO, null, null, 0L, 0L);
+                daily.add(day);
+            }
+            BigDecimal cost = activity.getCost();
+            day.setTotalCost(day.getTotalCost().add(cost));
+            day.setMinCost(day.getMinCost() == null ? cost : day.getMinCost().min(cost));
+            day.setMaxCost(day.getMaxCost() == null ? cost : day.getMaxCost().max(cost));
+            day.setActivityCount(day.getActivityCount() + 1);
+            day.setTotalDuration(day.getTotalDuration() + activity.getDuration());
+            summary.setTotalCost(summary.getTotalCost().add(cost));
+            summary.setMinCost(summary.getMinCost() == null ? cost : summary.getMinCost().min(cost));
+            summary.setMaxCost(summary.getMaxCost() == null ? cost : summary.getMaxCost().max(cost));
+            summary.setActivityCount(summary.getActivityCount() + 1);
+            summary.setTotalDuration(summary.getTotalDuration() + activity.getDuration());
+        }
+        summary.setDaily(daily);
+        return summary;
+    }
+
+    @Benchmark
+    public BudgetSummaryDTO summarizeBudgetInMinorUnits() {
+        return activityService.summarizeBudget(1L, activities);
+    }
+}
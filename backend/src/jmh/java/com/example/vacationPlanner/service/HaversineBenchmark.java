@@ -0,0 +1,57 @@
+package com.example.vacationPlanner.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Distance and travel minutes between consecutive stops, the calculation the frontend runs per day view
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class HaversineBenchmark {
+
+    private static final double SPEED_KMH = 30;
+
+    @Param({"10", "1000", "100000"})
+    private int stopCount;
+
+    private double[] latitudes;
+    private double[] longitudes;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        latitudes = new double[stopCount];
+        longitudes = new double[stopCount];
+        for (int i = 0; i < stopCount; i++) {
+            latitudes[i] = 41.85 + random.nextDouble() * 0.1;
+            longitudes[i] = 12.45 + random.nextDouble() * 0.1;
+        }
+    }
+
+    @Benchmark
+    public double consecutiveDistanceKm() {
+        double total = 0;
+        for (int i = 1; i < stopCount; i++) {
+            total += TravelTimeService.haversineKm(latitudes[i - 1], longitudes[i - 1], latitudes[i], longitudes[i]);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public long consecutiveTravelMinutes() {
+        long total = 0;
+        for (int i = 1; i < stopCount; i++) {
+            double km = TravelTimeService.haversineKm(latitudes[i - 1], longitudes[i - 1], latitudes[i], longitudes[i]);
+            total += (long) Math.ceil(km / SPEED_KMH * 60);
+        }
+        return total;
+    }
+}
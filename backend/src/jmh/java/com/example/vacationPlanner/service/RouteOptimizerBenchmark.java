@@ -0,0 +1,53 @@
+package com.example.vacationPlanner.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class RouteOptimizerBenchmark {
+
+    @Param({"20", "50", "200"})
+    private int stops;
+
+    @Param({"0", "10"})
+    private int fixedPercent;
+
+    private double[] distance;
+    private boolean[] fixed;
+
+    @Setup
+    public void setUp() {
+        // Random stops within a city-sized box around Rome
+        Random random = new Random(42);
+        double[] latitudes = new double[stops];
+        double[] longitudes = new double[stops];
+        fixed = new boolean[stops];
+        for (int i = 0; i < stops; i++) {
+            latitudes[i] = 41.85 + random.nextDouble() * 0.1;
+            longitudes[i] = 12.45 + random.nextDouble() * 0.1;
+            fixed[i] = random.nextInt(100) < fixedPercent;
+        }
+        distance = new double[stops * stops];
+        for (int i = 0; i < stops; i++) {
+            for (int j = 0; j < stops; j++) {
+                distance[i * stops + j] = TravelTimeService.haversineKm(latitudes[i], longitudes[i],
+                        latitudes[j], longitudes[j]);
+            }
+        }
+    }
+
+    @Benchmark
+    public int[] optimize() {
+        return new RouteOptimizer(distance, stops, fixed).optimize();
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.vacationPlanner.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SpatialGridBenchmark {
+
+    @Param({"1000000"})
+    private int points;
+
+    @Param({"1", "10"})
+    private double radiusKm;
+
+    private double[] latitudes;
+    private double[] longitudes;
+    private SpatialGrid grid;
+    private double[] queryLat;
+    private double[] queryLng;
+    private int query;
+
+    @Setup
+    public void setUp() {
+        // Random points over a region the size of Italy
+        Random random = new Random(42);
+        latitudes = new double[points];
+        longitudes = new double[points];
+        for (int i = 0; i < points; i++) {
+            latitudes[i] = 37 + random.nextDouble() * 10;
+            longitudes[i] = 7 + random.nextDouble() * 11;
+        }
+        grid = new SpatialGrid(latitudes, longitudes);
+        queryLat = new double[1024];
+        queryLng = new double[1024];
+        for (int i = 0; i < queryLat.length; i++) {
+            queryLat[i] = 37 + random.nextDouble() * 10;
+            queryLng[i] = 7 + random.nextDouble() * 11;
+        }
+    }
+
+    @Benchmark
+    public int gridQuery() {
+        int q = query++ & 1023;
+        return grid.within(queryLat[q], queryLng[q], radiusKm).size();
+    }
+
+    @Benchmark
+    public int bruteForce() {
+        int q = query++ & 1023;
+        int count = 0;
+        for (int i = 0; i < points; i++) {
+            if (TravelTimeService.haversineKm(queryLat[q], queryLng[q], latitudes[i], longitudes[i]) <= radiusKm) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
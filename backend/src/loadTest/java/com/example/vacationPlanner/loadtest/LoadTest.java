@@ -0,0 +1,196 @@
+package com.example.vacationPlanner.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Closed-loop load generator: every client sends its next request as soon as the previous one returns.
+// Targets are measured one after another so the results compare request-thread modes on the same database.
+//
+//   gradle loadTest -PloadTest.targets=platform=http://localhost:8081,virtual=http://localhost:8082
+public final class LoadTest {
+
+    private static final Pattern ID = Pattern.compile("\"id\"\\s*:\\s*(\\d+)");
+    private static final int ACTIVITIES_PER_DAY = 10;
+
+    private final int clients = Integer.getInteger("loadTest.clients", 1000);
+    private final int warmupSeconds = Integer.getInteger("loadTest.warmupSeconds", 10);
+    private final int durationSeconds = Integer.getInteger("loadTest.durationSeconds", 30);
+    private final int seedActivities = Integer.getInteger("loadTest.activities", 200);
+    private final String path = System.getProperty("loadTest.path",
+            "/api/activities/page?itineraryId={itineraryId}&limit=50");
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+
+    public static void main(String[] args) throws Exception {
+        String targets = System.getProperty("loadTest.targets", "default=http://localhost:8080");
+        LoadTest loadTest = new LoadTest();
+        List<Result> results = new ArrayList<>();
+        for (String target : targets.split(",")) {
+            String[] labelAndUrl = target.split("=", 2);
+            results.add(loadTest.run(labelAndUrl[0], labelAndUrl[1]));
+        }
+        loadTest.print(results);
+    }
+
+    private Result run(String label, String baseUrl) throws Exception {
+        long itineraryId = seed(label, baseUrl);
+        URI uri = URI.create(baseUrl + path.replace("{itineraryId}", Long.toString(itineraryId)));
+        send(uri.toString(), HttpRequest.newBuilder(uri).GET().build());
+        System.out.printf(Locale.ROOT, "%s: %d clients against %s (%ds warm-up, %ds measured)%n",
+                label, clients, uri, warmupSeconds, durationSeconds);
+
+        long measureFrom = System.nanoTime() + Duration.ofSeconds(warmupSeconds).toNanos();
+        long measureUntil = measureFrom + Duration.ofSeconds(durationSeconds).toNanos();
+        AtomicLong errors = new AtomicLong();
+        List<long[]> latencies = new ArrayList<>(clients);
+        int[] counts = new int[clients];
+
+        // Client threads are virtual so the generator itself never runs out of threads
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < clients; c++) {
+                int client = c;
+                long[] samples = new long[1024];
+                latencies.add(samples);
+                executor.submit(() -> {
+                    HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(60)).GET().build();
+                    long[] recorded = samples;
+                    int count = 0;
+                    while (true) {
+                        long start = System.nanoTime();
+                        if (start >= measureUntil) {
+                            break;
+                        }
+                        boolean ok;
+                        try {
+                            ok = httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() < 400;
+                        } catch (Exception e) {
+                            ok = false;
+                        }
+                        long end = System.nanoTime();
+                        if (start < measureFrom || end > measureUntil) {
+                            continue;
+                        }
+                        if (!ok) {
+                            errors.incrementAndGet();
+                            continue;
+                        }
+                        if (count == recorded.length) {
+                            recorded = Arrays.copyOf(recorded, count * 2);
+                            latencies.set(client, recorded);
+                        }
+                        recorded[count++] = end - start;
+                    }
+                    counts[client] = count;
+                    return null;
+                });
+            }
+        }
+
+        int total = 0;
+        for (int count : counts) {
+            total += count;
+        }
+        long[] all = new long[total];
+        int offset = 0;
+        for (int c = 0; c < clients; c++) {
+            System.arraycopy(latencies.get(c), 0, all, offset, counts[c]);
+            offset += counts[c];
+        }
+        Arrays.sort(all);
+        return new Result(label, total, errors.get(), (double) total / durationSeconds,
+                percentileMillis(all, 0.50), percentileMillis(all, 0.99), total > 0 ? all[total - 1] / 1e6 : 0);
+    }
+
+    // Creates a user, an itinerary and its activities so the measured endpoint reads real rows. Ten one-hour
+    // activities a day, on the hour from 08:00, so no two of them overlap and schedule checks never reject the seed.
+    private long seed(String label, String baseUrl) throws Exception {
+        String suffix = label + "-" + System.currentTimeMillis();
+        long userId = post(baseUrl + "/api/users", """
+                {"firebaseUid":"load-test-%s","email":"load-test-%s@example.com","name":"Load test"}"""
+                .formatted(suffix, suffix));
+        LocalDate start = LocalDate.of(2024, 6, 1);
+        long itineraryId = post(baseUrl + "/api/itineraries", """
+                {"name":"Load test","location":"Rome","startDate":"%s","endDate":"%s","userId":%d}"""
+                .formatted(start, start.plusDays(Math.max(0, seedActivities - 1) / ACTIVITIES_PER_DAY), userId));
+
+        StringBuilder activities = new StringBuilder("[");
+        for (int i = 0; i < seedActivities; i++) {
+            if (i > 0) {
+                activities.append(',');
+            }
+            activities.append("""
+                    {"name":"Activity %d","location":"Stop %d","startTime":"%02d:00:00","duration":60,\
+                    "cost":%d.50,"date":"%s","latitude":%.5f,"longitude":%.5f,"itineraryId":%d}"""
+                    .formatted(i, i, 8 + i % ACTIVITIES_PER_DAY, i % 90, start.plusDays(i / ACTIVITIES_PER_DAY),
+                            41.85 + (i % 97) / 1000.0, 12.45 + (i % 89) / 1000.0, itineraryId));
+        }
+        activities.append(']');
+        send(baseUrl + "/api/activities/bulk", activities.toString());
+        return itineraryId;
+    }
+
+    private long post(String url, String body) throws Exception {
+        Matcher matcher = ID.matcher(send(url, body));
+        if (!matcher.find()) {
+            throw new IllegalStateException("No id in response from " + url);
+        }
+        return Long.parseLong(matcher.group(1));
+    }
+
+    private String send(String url, String body) throws Exception {
+        return send(url, HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build());
+    }
+
+    // Seeding and the first request to the measured endpoint must answer 200 before any timing starts; a failing
+    // seed would otherwise only show up as an error count next to meaningless latencies
+    private String send(String url, HttpRequest request) throws Exception {
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException(url + " returned " + response.statusCode() + ": " + response.body());
+        }
+        return response.body();
+    }
+
+    private void print(List<Result> results) {
+        System.out.println();
+        System.out.printf(Locale.ROOT, "%-12s %12s %10s %10s %10s %10s %8s%n",
+                "target", "requests", "req/s", "p50 ms", "p99 ms", "max ms", "errors");
+        for (Result result : results) {
+            System.out.printf(Locale.ROOT, "%-12s %12d %10.1f %10.2f %10.2f %10.2f %8d%n",
+                    result.label(), result.requests(), result.throughput(),
+                    result.p50Millis(), result.p99Millis(), result.maxMillis(), result.errors());
+        }
+    }
+
+    private static double percentileMillis(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+
+    private record Result(String label, long requests, long errors, double throughput,
+                          double p50Millis, double p99Millis, double maxMillis) {
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.vacationPlanner.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.metrics.cache.CacheMeterBinderProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import java.util.List;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String USERS_BY_ID = "usersById";
+    public static final String USERS_BY_FIREBASE_UID = "usersByFirebaseUid";
+    public static final String ITINERARIES_BY_ID = "itinerariesById";
+    public static final String ITINERARIES_BY_USER = "itinerariesByUser";
+    public static final String ACTIVITIES_BY_ITINERARY = "activitiesByItinerary";
+    public static final String BUDGET_TOTALS = "budgetTotals";
+    public static final String DAILY_BUDGETS = "dailyBudgets";
+    public static final String BUDGET_SUMMARIES = "budgetSummaries";
+    public static final String ITINERARY_SNAPSHOTS = "itinerarySnapshots";
+
+    @Value("${cache.users.spec:maximumSize=10000,expireAfterWrite=30m,recordStats}")
+    private String usersSpec;
+
+    @Value("${cache.itineraries.spec:maximumSize=10000,expireAfterWrite=10m,recordStats}")
+    private String itinerariesSpec;
+
+    // Activity lists can be large, so this one holds fewer entries
+    @Value("${cache.activities.spec:maximumSize=1000,expireAfterWrite=5m,recordStats}")
+    private String activitiesSpec;
+
+    @Value("${cache.budgets.spec:maximumSize=5000,expireAfterWrite=5m,recordStats}")
+    private String budgetsSpec;
+
+    @Bean
+    public CacheManager cacheManager() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager() {
+            @Override
+            protected Cache adaptCaffeineCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache) {
+                return new EvictionGuardedCache(super.adaptCaffeineCache(name, cache));
+            }
+        };
+        // Only the caches registered below exist; an unknown name fails instead of creating an unbounded cache
+        cacheManager.setCacheNames(List.of());
+        register(cacheManager, usersSpec, USERS_BY_ID, USERS_BY_FIREBASE_UID);
+        register(cacheManager, itinerariesSpec, ITINERARIES_BY_ID, ITINERARIES_BY_USER);
+        register(cacheManager, activitiesSpec, ACTIVITIES_BY_ITINERARY, ITINERARY_SNAPSHOTS);
+        register(cacheManager, budgetsSpec, BUDGET_TOTALS, DAILY_BUDGETS, BUDGET_SUMMARIES);
+        return cacheManager;
+    }
+
+    // Keeps the cache.* hit/miss/eviction meters, which Boot only binds for plain CaffeineCache instances
+    @Bean
+    public CacheMeterBinderProvider<EvictionGuardedCache> evictionGuardedCacheMeterBinderProvider() {
+        return new CacheMeterBinderProvider<>() {
+            @Override
+            public MeterBinder getMeterBinder(EvictionGuardedCache cache, Iterable<Tag> tags) {
+                @SuppressWarnings("unchecked")
+                com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache =
+                        (com.github.benmanes.caffeine.cache.Cache<Object, Object>) cache.getNativeCache();
+                return new CaffeineCacheMetrics<>(nativeCache, cache.getName(), tags);
+            }
+        };
+    }
+
+    private void register(CaffeineCacheManager cacheManager, String spec, String... cacheNames) {
+        for (String cacheName : cacheNames) {
+            cacheManager.registerCustomCache(cacheName, Caffeine.from(spec).build());
+        }
+    }
+}
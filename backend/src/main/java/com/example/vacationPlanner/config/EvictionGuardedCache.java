@@ -0,0 +1,96 @@
+package com.example.vacationPlanner.config;
+
+import org.springframework.cache.Cache;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// A @Cacheable read that missed before a write committed can finish loading after CacheInvalidator evicted the key,
+// and its put would bring the pre-write rows back under the post-write ETag. Every eviction bumps the key's
+// generation first; a miss remembers the generation it saw, and the put that follows it is dropped (or undone,
+// if the eviction lands mid-put) once the generation has moved on. Generations are kept per stripe of keys, not per
+// key, so memory stays fixed; two keys sharing a stripe only cost the occasional dropped put.
+public class EvictionGuardedCache implements Cache {
+
+    private static final int STRIPES = 1024;
+
+    private record Miss(Object key, long generation) {
+    }
+
+    private final Cache target;
+    private final AtomicLongArray generations = new AtomicLongArray(STRIPES);
+    private final ThreadLocal<Miss> lastMiss = new ThreadLocal<>();
+    private final AtomicLong clears = new AtomicLong();
+
+    EvictionGuardedCache(Cache target) {
+        this.target = target;
+    }
+
+    @Override
+    public String getName() {
+        return target.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return target.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        long generation = generation(key);
+        ValueWrapper value = target.get(key);
+        if (value == null) {
+            lastMiss.set(new Miss(key, generation));
+        }
+        return value;
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        return target.get(key, type);
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        return target.get(key, valueLoader);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        Miss miss = lastMiss.get();
+        if (miss == null || !miss.key().equals(key)) {
+            // @CachePut, or a put that no miss of this thread led to
+            target.put(key, value);
+            return;
+        }
+        lastMiss.remove();
+        if (generation(key) != miss.generation()) {
+            return;
+        }
+        target.put(key, value);
+        if (generation(key) != miss.generation()) {
+            target.evict(key);
+        }
+    }
+
+    @Override
+    public void evict(Object key) {
+        generations.incrementAndGet(stripe(key));
+        target.evict(key);
+    }
+
+    @Override
+    public void clear() {
+        clears.incrementAndGet();
+        target.clear();
+    }
+
+    private long generation(Object key) {
+        return clears.get() + generations.get(stripe(key));
+    }
+
+    private static int stripe(Object key) {
+        return Math.floorMod(key.hashCode(), STRIPES);
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.vacationPlanner.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// Background jobs (@Scheduled), currently the budget rollup reconciler
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
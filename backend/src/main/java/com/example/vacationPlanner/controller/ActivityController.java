@@ -1,34 +1,107 @@
 package com.example.vacationPlanner.controller;
 
 import com.example.vacationPlanner.model.dto.ActivityDTO;
+import com.example.vacationPlanner.model.dto.BudgetSummaryDTO;
+import com.example.vacationPlanner.model.dto.CursorPageDTO;
+import com.example.vacationPlanner.model.dto.NearbyActivityDTO;
+import com.example.vacationPlanner.model.dto.TravelTimeDTO;
+import com.example.vacationPlanner.model.dto.TravelTimeMatrixDTO;
 import com.example.vacationPlanner.service.ActivityService;
+import com.example.vacationPlanner.service.CacheInvalidator;
+import com.example.vacationPlanner.service.NearbyActivityService;
+import com.example.vacationPlanner.service.ScheduleConflictException;
+import com.example.vacationPlanner.service.TravelTimeService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/activities")
 @CrossOrigin(origins = "http://localhost:4200")
+@Profile("!reactive")
 public class ActivityController {
     
     @Autowired
     private ActivityService activityService;
     
+    @Autowired
+    private TravelTimeService travelTimeService;
+    
+    @Autowired
+    private NearbyActivityService nearbyActivityService;
+    
+    @Autowired
+    private CacheInvalidator cacheInvalidator;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
     @GetMapping
-    public ResponseEntity<List<ActivityDTO>> getActivities(@RequestParam Long itineraryId) {
+    public ResponseEntity<List<ActivityDTO>> getActivities(@RequestParam Long itineraryId, WebRequest request) {
+        // JSON, CBOR or Smile depending on Accept, so shared caches have to key on it
+        String eTag = WireFormatETags.of(cacheInvalidator.activitiesETag(itineraryId), request);
+        if (request.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).varyBy(HttpHeaders.ACCEPT).build();
+        }
         List<ActivityDTO> activities = activityService.getActivitiesByItineraryId(itineraryId);
-        return ResponseEntity.ok(activities);
+        return ResponseEntity.ok().eTag(eTag).varyBy(HttpHeaders.ACCEPT).body(activities);
+    }
+    
+    @GetMapping("/page")
+    public ResponseEntity<CursorPageDTO<ActivityDTO>> getActivityPage(@RequestParam Long itineraryId,
+                                                                      @RequestParam(required = false) String cursor,
+                                                                      @RequestParam(defaultValue = "100") int limit) {
+        try {
+            CursorPageDTO<ActivityDTO> page = activityService.getActivityPage(itineraryId, cursor, limit);
+            return ResponseEntity.ok(page);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    @GetMapping(value = "/stream", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<StreamingResponseBody> streamActivities(@RequestParam Long itineraryId,
+                                                                  @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        return JsonStreaming.<ActivityDTO>negotiate(objectMapper, accept,
+                consumer -> activityService.streamActivitiesByItineraryId(itineraryId, consumer));
+    }
+    
+    @GetMapping("/nearby")
+    public ResponseEntity<List<NearbyActivityDTO>> getNearbyActivities(@RequestParam double lat, @RequestParam double lng,
+                                                                       @RequestParam(defaultValue = "1") double radiusKm,
+                                                                       @RequestParam(required = false) Long itineraryId,
+                                                                       @RequestParam(defaultValue = "100") int limit) {
+        try {
+            return ResponseEntity.ok(nearbyActivityService.findNearby(lat, lng, radiusKm, itineraryId, limit));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
     
     @GetMapping("/{id}")
-    public ResponseEntity<ActivityDTO> getActivity(@PathVariable Long id) {
+    public ResponseEntity<ActivityDTO> getActivity(@PathVariable Long id, WebRequest request) {
         Optional<ActivityDTO> activity = activityService.getActivityById(id);
-        return activity.map(ResponseEntity::ok)
-                .orElse(ResponseEntity.notFound().build());
+        if (activity.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        String eTag = VersionETags.of(activity.get().getVersion(), request);
+        if (request.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).varyBy(HttpHeaders.ACCEPT).build();
+        }
+        return ResponseEntity.ok().eTag(eTag).varyBy(HttpHeaders.ACCEPT).body(activity.get());
     }
     
     @PostMapping
@@ -36,16 +109,83 @@ public class ActivityController {
         try {
             ActivityDTO createdActivity = activityService.createActivity(activityDTO);
             return ResponseEntity.ok(createdActivity);
+        } catch (ScheduleConflictException e) {
+            throw e;
         } catch (Exception e) {
             return ResponseEntity.badRequest().build();
         }
     }
     
     @PutMapping("/{id}")
-    public ResponseEntity<ActivityDTO> updateActivity(@PathVariable Long id, @RequestBody ActivityDTO activityDTO) {
+    public ResponseEntity<ActivityDTO> updateActivity(@PathVariable Long id, @RequestBody ActivityDTO activityDTO,
+                                                      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                      WebRequest request) {
+        try {
+            ActivityDTO updatedActivity = activityService.updateActivity(id, activityDTO, VersionETags.parseIfMatch(ifMatch));
+            return ResponseEntity.ok().eTag(VersionETags.of(updatedActivity.getVersion(), request))
+                    .varyBy(HttpHeaders.ACCEPT).body(updatedActivity);
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        } catch (ScheduleConflictException e) {
+            throw e;
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    @PatchMapping("/{id}")
+    public ResponseEntity<ActivityDTO> patchActivity(@PathVariable Long id, @RequestBody ActivityDTO changes,
+                                                     @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                     WebRequest request) {
         try {
-            ActivityDTO updatedActivity = activityService.updateActivity(id, activityDTO);
-            return ResponseEntity.ok(updatedActivity);
+            // With write-behind on, start time / notes edits are only queued: 202 and no body, as the new version
+            // is not known yet
+            if (ifMatch == null && activityService.deferPatch(id, changes)) {
+                return ResponseEntity.accepted().build();
+            }
+            ActivityDTO patchedActivity = activityService.patchActivity(id, changes, VersionETags.parseIfMatch(ifMatch));
+            return ResponseEntity.ok().eTag(VersionETags.of(patchedActivity.getVersion(), request))
+                    .varyBy(HttpHeaders.ACCEPT).body(patchedActivity);
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        } catch (ScheduleConflictException e) {
+            throw e;
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    @PostMapping("/bulk")
+    public ResponseEntity<List<ActivityDTO>> createActivities(@RequestBody List<ActivityDTO> activityDTOs) {
+        try {
+            List<ActivityDTO> createdActivities = activityService.createActivities(activityDTOs);
+            return ResponseEntity.ok(createdActivities);
+        } catch (ScheduleConflictException e) {
+            throw e;
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    @PutMapping("/bulk")
+    public ResponseEntity<List<ActivityDTO>> updateActivities(@RequestBody List<ActivityDTO> activityDTOs) {
+        try {
+            List<ActivityDTO> updatedActivities = activityService.updateActivities(activityDTOs);
+            return ResponseEntity.ok(updatedActivities);
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        } catch (ScheduleConflictException e) {
+            throw e;
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    @DeleteMapping("/bulk")
+    public ResponseEntity<Void> deleteActivities(@RequestBody List<Long> ids) {
+        try {
+            activityService.deleteActivities(ids);
+            return ResponseEntity.ok().build();
         } catch (Exception e) {
             return ResponseEntity.badRequest().build();
         }
@@ -62,10 +202,42 @@ public class ActivityController {
     }
     
     @GetMapping("/budget/total/{itineraryId}")
-    public ResponseEntity<BigDecimal> getTotalCost(@PathVariable Long itineraryId) {
+    public ResponseEntity<BigDecimal> getTotalCost(@PathVariable Long itineraryId, WebRequest request) {
+        String eTag = WireFormatETags.of(cacheInvalidator.activitiesETag(itineraryId), request);
+        if (request.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).varyBy(HttpHeaders.ACCEPT).build();
+        }
         try {
             BigDecimal totalCost = activityService.getTotalCostForItinerary(itineraryId);
-            return ResponseEntity.ok(totalCost);
+            return ResponseEntity.ok().eTag(eTag).varyBy(HttpHeaders.ACCEPT).body(totalCost);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    @GetMapping("/budget/daily/{itineraryId}")
+    public ResponseEntity<Map<LocalDate, BigDecimal>> getDailyCosts(@PathVariable Long itineraryId, WebRequest request) {
+        String eTag = WireFormatETags.of(cacheInvalidator.activitiesETag(itineraryId), request);
+        if (request.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).varyBy(HttpHeaders.ACCEPT).build();
+        }
+        try {
+            Map<LocalDate, BigDecimal> dailyCosts = activityService.getDailyCostsForItinerary(itineraryId);
+            return ResponseEntity.ok().eTag(eTag).varyBy(HttpHeaders.ACCEPT).body(dailyCosts);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    @GetMapping("/budget/summary/{itineraryId}")
+    public ResponseEntity<BudgetSummaryDTO> getBudgetSummary(@PathVariable Long itineraryId, WebRequest request) {
+        String eTag = WireFormatETags.of(cacheInvalidator.activitiesETag(itineraryId), request);
+        if (request.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).varyBy(HttpHeaders.ACCEPT).build();
+        }
+        try {
+            BudgetSummaryDTO summary = activityService.getBudgetSummaryForItinerary(itineraryId);
+            return ResponseEntity.ok().eTag(eTag).varyBy(HttpHeaders.ACCEPT).body(summary);
         } catch (Exception e) {
             return ResponseEntity.badRequest().build();
         }
@@ -80,4 +252,17 @@ public class ActivityController {
             return ResponseEntity.badRequest().build();
         }
     }
+    
+    @GetMapping("/travel-time")
+    public ResponseEntity<TravelTimeDTO> getTravelTime(@RequestParam double fromLat, @RequestParam double fromLng,
+                                                       @RequestParam double toLat, @RequestParam double toLng) {
+        return ResponseEntity.ok(travelTimeService.getTravelTime(fromLat, fromLng, toLat, toLng));
+    }
+    
+    @GetMapping("/travel-time/matrix/{itineraryId}")
+    public ResponseEntity<TravelTimeMatrixDTO> getTravelTimeMatrix(@PathVariable Long itineraryId) {
+        return travelTimeService.getTravelTimeMatrix(itineraryId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
 }
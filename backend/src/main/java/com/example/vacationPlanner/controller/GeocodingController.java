@@ -0,0 +1,52 @@
+package com.example.vacationPlanner.controller;
+
+import com.example.vacationPlanner.model.dto.GeocodeResultDTO;
+import com.example.vacationPlanner.service.GeocodingRateLimitException;
+import com.example.vacationPlanner.service.GeocodingService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/api/geocode")
+@CrossOrigin(origins = "http://localhost:4200")
+@Profile("!reactive")
+public class GeocodingController {
+    
+    @Autowired
+    private GeocodingService geocodingService;
+    
+    @GetMapping("/search")
+    public ResponseEntity<GeocodeResultDTO> search(@RequestParam String q) {
+        try {
+            return toResponse(geocodingService.search(q));
+        } catch (GeocodingRateLimitException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_GATEWAY).build();
+        }
+    }
+    
+    @GetMapping("/reverse")
+    public ResponseEntity<GeocodeResultDTO> reverse(@RequestParam double lat, @RequestParam double lng) {
+        try {
+            return toResponse(geocodingService.reverse(lat, lng));
+        } catch (GeocodingRateLimitException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_GATEWAY).build();
+        }
+    }
+    
+    private ResponseEntity<GeocodeResultDTO> toResponse(Optional<GeocodeResultDTO> result) {
+        return result.map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+}
@@ -1,37 +1,141 @@
 package com.example.vacationPlanner.controller;
 
+import com.example.vacationPlanner.model.dto.ActivityEventDTO;
+import com.example.vacationPlanner.model.dto.CursorPageDTO;
 import com.example.vacationPlanner.model.dto.ItineraryDTO;
+import com.example.vacationPlanner.model.dto.ItinerarySnapshotDTO;
+import com.example.vacationPlanner.model.dto.RouteOptimizationDTO;
+import com.example.vacationPlanner.model.dto.ScheduleConflictDTO;
+import com.example.vacationPlanner.service.CacheInvalidator;
+import com.example.vacationPlanner.service.DayOverflowException;
+import com.example.vacationPlanner.service.ItineraryEventBus;
 import com.example.vacationPlanner.service.ItineraryService;
+import com.example.vacationPlanner.service.RouteOptimizationService;
+import com.example.vacationPlanner.service.ScheduleConflictException;
+import com.example.vacationPlanner.service.ScheduleValidationService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import reactor.core.publisher.Flux;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/itineraries")
 @CrossOrigin(origins = "http://localhost:4200")
+@Profile("!reactive")
 public class ItineraryController {
     
+    private static final Logger log = LoggerFactory.getLogger(ItineraryController.class);
+    
     @Autowired
     private ItineraryService itineraryService;
     
+    @Autowired
+    private CacheInvalidator cacheInvalidator;
+    
+    @Autowired
+    private RouteOptimizationService routeOptimizationService;
+    
+    @Autowired
+    private ScheduleValidationService scheduleValidationService;
+    
+    @Autowired
+    private ItineraryEventBus itineraryEventBus;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
     @GetMapping
-    public ResponseEntity<List<ItineraryDTO>> getItineraries(@RequestParam(required = false) Long userId) {
+    public ResponseEntity<List<ItineraryDTO>> getItineraries(@RequestParam(required = false) Long userId, WebRequest request) {
         if (userId != null) {
+            String eTag = WireFormatETags.of(cacheInvalidator.userItinerariesETag(userId), request);
+            if (request.checkNotModified(eTag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).varyBy(HttpHeaders.ACCEPT).build();
+            }
             List<ItineraryDTO> itineraries = itineraryService.getItinerariesByUserId(userId);
-            return ResponseEntity.ok(itineraries);
+            return ResponseEntity.ok().eTag(eTag).varyBy(HttpHeaders.ACCEPT).body(itineraries);
         }
         return ResponseEntity.ok(List.of());
     }
     
+    @GetMapping("/page")
+    public ResponseEntity<CursorPageDTO<ItineraryDTO>> getItineraryPage(@RequestParam Long userId,
+                                                                        @RequestParam(required = false) String cursor,
+                                                                        @RequestParam(defaultValue = "100") int limit) {
+        try {
+            CursorPageDTO<ItineraryDTO> page = itineraryService.getItineraryPage(userId, cursor, limit);
+            return ResponseEntity.ok(page);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    @GetMapping(value = "/stream", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<StreamingResponseBody> streamItineraries(@RequestParam Long userId,
+                                                                   @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        return JsonStreaming.<ItineraryDTO>negotiate(objectMapper, accept,
+                consumer -> itineraryService.streamItinerariesByUserId(userId, consumer));
+    }
+    
     @GetMapping("/{id}")
-    public ResponseEntity<ItineraryDTO> getItinerary(@PathVariable Long id) {
+    public ResponseEntity<ItineraryDTO> getItinerary(@PathVariable Long id, WebRequest request) {
+        // The DTO is served from cache, so its version doubles as a cheap ETag that If-Match can echo back
         Optional<ItineraryDTO> itinerary = itineraryService.getItineraryById(id);
-        return itinerary.map(ResponseEntity::ok)
+        if (itinerary.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        String eTag = VersionETags.of(itinerary.get().getVersion(), request);
+        if (request.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).varyBy(HttpHeaders.ACCEPT).build();
+        }
+        return ResponseEntity.ok().eTag(eTag).varyBy(HttpHeaders.ACCEPT).body(itinerary.get());
+    }
+    
+    @GetMapping("/{id}/snapshot")
+    public ResponseEntity<ItinerarySnapshotDTO> getItinerarySnapshot(@PathVariable Long id, WebRequest request) {
+        // JSON, CBOR or Smile depending on Accept, so shared caches have to key on it
+        String eTag = WireFormatETags.of(cacheInvalidator.snapshotETag(id), request);
+        if (request.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).varyBy(HttpHeaders.ACCEPT).build();
+        }
+        Optional<ItinerarySnapshotDTO> snapshot = itineraryService.getItinerarySnapshot(id);
+        return snapshot.map(body -> ResponseEntity.ok().eTag(eTag).varyBy(HttpHeaders.ACCEPT).body(body))
                 .orElse(ResponseEntity.notFound().build());
     }
     
+    @GetMapping("/{id}/conflicts")
+    public ResponseEntity<List<ScheduleConflictDTO>> getScheduleConflicts(@PathVariable Long id) {
+        if (itineraryService.getItineraryById(id).isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(scheduleValidationService.getConflicts(id));
+    }
+    
+    // Server-sent events for every activity created, updated or deleted in the itinerary from now on. Spring MVC
+    // subscribes to the Flux asynchronously, so an open stream holds a connection but no request thread.
+    @GetMapping(value = "/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<Flux<ServerSentEvent<ActivityEventDTO>>> streamEvents(@PathVariable Long id) {
+        if (itineraryService.getItineraryById(id).isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(itineraryEventBus.stream(id));
+    }
+    
     @PostMapping
     public ResponseEntity<ItineraryDTO> createItinerary(@RequestBody ItineraryDTO itineraryDTO) {
         try {
@@ -43,10 +147,63 @@ public class ItineraryController {
     }
     
     @PutMapping("/{id}")
-    public ResponseEntity<ItineraryDTO> updateItinerary(@PathVariable Long id, @RequestBody ItineraryDTO itineraryDTO) {
+    public ResponseEntity<ItineraryDTO> updateItinerary(@PathVariable Long id, @RequestBody ItineraryDTO itineraryDTO,
+                                                        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                        WebRequest request) {
         try {
-            ItineraryDTO updatedItinerary = itineraryService.updateItinerary(id, itineraryDTO);
-            return ResponseEntity.ok(updatedItinerary);
+            ItineraryDTO updatedItinerary = itineraryService.updateItinerary(id, itineraryDTO, VersionETags.parseIfMatch(ifMatch));
+            return ResponseEntity.ok().eTag(VersionETags.of(updatedItinerary.getVersion(), request))
+                    .varyBy(HttpHeaders.ACCEPT).body(updatedItinerary);
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    @PatchMapping("/{id}")
+    public ResponseEntity<ItineraryDTO> patchItinerary(@PathVariable Long id, @RequestBody ItineraryDTO changes,
+                                                       @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                       WebRequest request) {
+        try {
+            ItineraryDTO patchedItinerary = itineraryService.patchItinerary(id, changes, VersionETags.parseIfMatch(ifMatch));
+            return ResponseEntity.ok().eTag(VersionETags.of(patchedItinerary.getVersion(), request))
+                    .varyBy(HttpHeaders.ACCEPT).body(patchedItinerary);
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    @PostMapping("/{id}/days/{date}/optimize")
+    public ResponseEntity<RouteOptimizationDTO> optimizeDay(@PathVariable Long id,
+                                                            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+                                                            @RequestParam(required = false) Set<Long> fixedActivityIds,
+                                                            @RequestParam(defaultValue = "false") boolean apply) {
+        if (itineraryService.getItineraryById(id).isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        try {
+            RouteOptimizationDTO optimization = routeOptimizationService.optimizeDay(id, date, fixedActivityIds, apply);
+            return ResponseEntity.ok(optimization);
+        } catch (OptimisticLockingFailureException e) {
+            // One of the day's activities changed while the new start times were being computed
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        } catch (ScheduleConflictException e) {
+            throw e;
+        } catch (DayOverflowException e) {
+            return ResponseEntity.unprocessableEntity().build();
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    @DeleteMapping
+    public ResponseEntity<Void> deleteItineraries(@RequestParam Long userId) {
+        try {
+            itineraryService.deleteItinerariesByUserId(userId);
+            return ResponseEntity.ok().build();
         } catch (Exception e) {
             return ResponseEntity.badRequest().build();
         }
@@ -55,19 +212,17 @@ public class ItineraryController {
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteItinerary(@PathVariable Long id) {
         try {
-            System.out.println("Attempting to delete itinerary with ID: " + id);
             itineraryService.deleteItinerary(id);
-            System.out.println("Successfully deleted itinerary with ID: " + id);
+            log.atInfo().addKeyValue("itineraryId", id).log("Itinerary deleted");
             return ResponseEntity.ok().build();
         } catch (RuntimeException e) {
-            System.err.println("Error deleting itinerary with ID " + id + ": " + e.getMessage());
+            log.atWarn().addKeyValue("itineraryId", id).addKeyValue("error", e.getMessage()).log("Itinerary delete failed");
             if (e.getMessage().contains("not found")) {
                 return ResponseEntity.notFound().build();
             }
             return ResponseEntity.badRequest().build();
         } catch (Exception e) {
-            System.err.println("Unexpected error deleting itinerary with ID " + id + ": " + e.getMessage());
-            e.printStackTrace();
+            log.atError().addKeyValue("itineraryId", id).setCause(e).log("Itinerary delete failed unexpectedly");
             return ResponseEntity.internalServerError().build();
         }
     }
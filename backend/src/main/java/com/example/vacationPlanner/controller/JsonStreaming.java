@@ -0,0 +1,77 @@
+package com.example.vacationPlanner.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+final class JsonStreaming {
+
+    private static final int BUFFER_SIZE = 16 * 1024;
+
+    private JsonStreaming() {
+    }
+
+    // NDJSON unless the client ranks application/json above it; no Accept header, */* and application/* get NDJSON
+    static <T> ResponseEntity<StreamingResponseBody> negotiate(ObjectMapper objectMapper, String accept,
+                                                               Consumer<Consumer<T>> source) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().varyBy(HttpHeaders.ACCEPT);
+        if (prefersJsonArray(accept)) {
+            return response.contentType(MediaType.APPLICATION_JSON).body(jsonArray(objectMapper, source));
+        }
+        return response.contentType(MediaType.APPLICATION_NDJSON).body(ndjson(objectMapper, source));
+    }
+
+    static boolean prefersJsonArray(String accept) {
+        if (accept == null) {
+            return false;
+        }
+        double json = 0;
+        double ndjson = 0;
+        for (MediaType type : MediaType.parseMediaTypes(accept)) {
+            if (type.equalsTypeAndSubtype(MediaType.APPLICATION_JSON)) {
+                json = Math.max(json, type.getQualityValue());
+            } else if (type.equalsTypeAndSubtype(MediaType.APPLICATION_NDJSON)) {
+                ndjson = Math.max(ndjson, type.getQualityValue());
+            }
+        }
+        return json > ndjson;
+    }
+
+    static <T> StreamingResponseBody ndjson(ObjectMapper objectMapper, Consumer<Consumer<T>> source) {
+        return outputStream -> {
+            OutputStream out = new BufferedOutputStream(outputStream, BUFFER_SIZE);
+            try (SequenceWriter writer = objectMapper.writer().withRootValueSeparator("\n").writeValues(out)) {
+                source.accept(row -> write(writer, row));
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        };
+    }
+
+    static <T> StreamingResponseBody jsonArray(ObjectMapper objectMapper, Consumer<Consumer<T>> source) {
+        return outputStream -> {
+            OutputStream out = new BufferedOutputStream(outputStream, BUFFER_SIZE);
+            try (SequenceWriter writer = objectMapper.writer().writeValuesAsArray(out)) {
+                source.accept(row -> write(writer, row));
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        };
+    }
+
+    private static void write(SequenceWriter writer, Object row) {
+        try {
+            writer.write(row);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
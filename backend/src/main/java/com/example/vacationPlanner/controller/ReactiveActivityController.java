@@ -0,0 +1,70 @@
+package com.example.vacationPlanner.controller;
+
+import com.example.vacationPlanner.model.dto.ActivityDTO;
+import com.example.vacationPlanner.model.dto.BudgetSummaryDTO;
+import com.example.vacationPlanner.service.ReactiveActivityService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+
+// Read-only WebFlux counterpart of ActivityController, active under the "reactive" profile
+@RestController
+@RequestMapping("/api/activities")
+@CrossOrigin(origins = "http://localhost:4200")
+@Profile("reactive")
+public class ReactiveActivityController {
+    
+    @Autowired
+    private ReactiveActivityService reactiveActivityService;
+    
+    @GetMapping
+    public Flux<ActivityDTO> getActivities(@RequestParam Long itineraryId) {
+        return reactiveActivityService.getActivitiesByItineraryId(itineraryId);
+    }
+    
+    // NDJSON is written element by element, so a slow client throttles the database fetch
+    @GetMapping(value = "/stream", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public Flux<ActivityDTO> streamActivities(@RequestParam Long itineraryId) {
+        return reactiveActivityService.getActivitiesByItineraryId(itineraryId);
+    }
+    
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<ActivityDTO>> getActivity(@PathVariable Long id) {
+        return reactiveActivityService.getActivityById(id)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+    
+    @GetMapping("/budget/total/{itineraryId}")
+    public Mono<ResponseEntity<BigDecimal>> getTotalCost(@PathVariable Long itineraryId) {
+        return reactiveActivityService.getTotalCostForItinerary(itineraryId)
+                .map(ResponseEntity::ok)
+                .onErrorResume(e -> Mono.just(ResponseEntity.badRequest().build()));
+    }
+    
+    @GetMapping("/budget/daily/{itineraryId}")
+    public Mono<ResponseEntity<Map<LocalDate, BigDecimal>>> getDailyCosts(@PathVariable Long itineraryId) {
+        return reactiveActivityService.getDailyCostsForItinerary(itineraryId)
+                .map(ResponseEntity::ok)
+                .onErrorResume(e -> Mono.just(ResponseEntity.badRequest().build()));
+    }
+    
+    @GetMapping("/budget/summary/{itineraryId}")
+    public Mono<ResponseEntity<BudgetSummaryDTO>> getBudgetSummary(@PathVariable Long itineraryId) {
+        return reactiveActivityService.getBudgetSummaryForItinerary(itineraryId)
+                .map(ResponseEntity::ok)
+                .onErrorResume(e -> Mono.just(ResponseEntity.badRequest().build()));
+    }
+    
+    @GetMapping("/budget/date/{itineraryId}")
+    public Flux<ActivityDTO> getActivitiesByDate(@PathVariable Long itineraryId, @RequestParam LocalDate date) {
+        return reactiveActivityService.getActivitiesByItineraryIdAndDate(itineraryId, date);
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.vacationPlanner.controller;
+
+import com.example.vacationPlanner.model.dto.ItineraryDTO;
+import com.example.vacationPlanner.service.ReactiveItineraryService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// Read-only WebFlux counterpart of ItineraryController, active under the "reactive" profile
+@RestController
+@RequestMapping("/api/itineraries")
+@CrossOrigin(origins = "http://localhost:4200")
+@Profile("reactive")
+public class ReactiveItineraryController {
+    
+    @Autowired
+    private ReactiveItineraryService reactiveItineraryService;
+    
+    @GetMapping
+    public Flux<ItineraryDTO> getItineraries(@RequestParam(required = false) Long userId) {
+        if (userId == null) {
+            return Flux.empty();
+        }
+        return reactiveItineraryService.getItinerariesByUserId(userId);
+    }
+    
+    @GetMapping(value = "/stream", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public Flux<ItineraryDTO> streamItineraries(@RequestParam Long userId) {
+        return reactiveItineraryService.getItinerariesByUserId(userId);
+    }
+    
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<ItineraryDTO>> getItinerary(@PathVariable Long id) {
+        return reactiveItineraryService.getItineraryById(id)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.vacationPlanner.controller;
+
+import com.example.vacationPlanner.model.dto.ScheduleConflictDTO;
+import com.example.vacationPlanner.service.ScheduleConflictException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import java.util.List;
+
+// 409 with the overlapping pairs as the body, so the client can point at the activities to move. Controllers
+// rethrow ScheduleConflictException past their catch-all 400 to get here.
+@RestControllerAdvice
+public class ScheduleConflictAdvice {
+
+    @ExceptionHandler(ScheduleConflictException.class)
+    public ResponseEntity<List<ScheduleConflictDTO>> handleScheduleConflict(ScheduleConflictException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getConflicts());
+    }
+}
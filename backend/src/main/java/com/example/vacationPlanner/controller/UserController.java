@@ -1,9 +1,9 @@
 package com.example.vacationPlanner.controller;
 
-import com.example.vacationPlanner.model.User;
 import com.example.vacationPlanner.model.dto.UserDTO;
 import com.example.vacationPlanner.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import java.util.Optional;
@@ -11,25 +11,21 @@ import java.util.Optional;
 @RestController
 @RequestMapping("/api/users")
 @CrossOrigin(origins = "http://localhost:4200")
+@Profile("!reactive")
 public class UserController {
     
     @Autowired
     private UserService userService;
     
     @PostMapping
-    public ResponseEntity<User> createOrUpdateUser(@RequestBody UserDTO userDTO) {
-        User user = new User();
-        user.setFirebaseUid(userDTO.getFirebaseUid());
-        user.setEmail(userDTO.getEmail());
-        user.setName(userDTO.getName());
-        
-        User savedUser = userService.createOrUpdateUser(user);
+    public ResponseEntity<UserDTO> createOrUpdateUser(@RequestBody UserDTO userDTO) {
+        UserDTO savedUser = userService.createOrUpdateUser(userDTO);
         return ResponseEntity.ok(savedUser);
     }
     
     @GetMapping("/firebase/{firebaseUid}")
-    public ResponseEntity<User> getUserByFirebaseUid(@PathVariable String firebaseUid) {
-        Optional<User> user = userService.getUserByFirebaseUid(firebaseUid);
+    public ResponseEntity<UserDTO> getUserByFirebaseUid(@PathVariable String firebaseUid) {
+        Optional<UserDTO> user = userService.getUserByFirebaseUid(firebaseUid);
         return user.map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
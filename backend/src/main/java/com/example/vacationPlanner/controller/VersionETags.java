@@ -0,0 +1,34 @@
+package com.example.vacationPlanner.controller;
+
+import org.springframework.web.context.request.WebRequest;
+
+// Strong ETags built from the @Version column, so a client can send back what it read as If-Match. The tag also
+// names the wire format (see WireFormatETags); the version alone is what If-Match is checked against.
+final class VersionETags {
+
+    private VersionETags() {
+    }
+
+    static String of(Long version, WebRequest request) {
+        return "\"" + version + WireFormatETags.suffix(request) + "\"";
+    }
+
+    // Returns null when there is no precondition to check (header absent or "*")
+    static Long parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String value = ifMatch.trim();
+        if (value.startsWith("W/")) {
+            value = value.substring(2);
+        }
+        if (value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")) {
+            value = value.substring(1, value.length() - 1);
+        }
+        try {
+            return Long.valueOf(WireFormatETags.stripSuffix(value));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Malformed If-Match header: " + ifMatch);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.vacationPlanner.controller;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.context.request.WebRequest;
+import java.util.List;
+
+// Any response can be sent as JSON, CBOR or Smile (see WireFormatConfig), and the three encodings of one document
+// differ byte for byte, so each needs its own strong ETag. JSON keeps the plain tag; CBOR and Smile get a suffix.
+// The format is read from Accept the way Spring MVC picks the converter: most specific type first, JSON on ties.
+final class WireFormatETags {
+
+    private static final MediaType SMILE = new MediaType("application", "x-jackson-smile");
+
+    private static final List<MediaType> FORMATS = List.of(MediaType.APPLICATION_JSON, MediaType.APPLICATION_CBOR, SMILE);
+
+    private static final List<String> SUFFIXES = List.of("", "-cbor", "-smile");
+
+    private WireFormatETags() {
+    }
+
+    static String of(String eTag, WebRequest request) {
+        return eTag + suffix(request);
+    }
+
+    static String suffix(WebRequest request) {
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        if (accept == null || accept.isBlank()) {
+            return "";
+        }
+        List<MediaType> accepted;
+        try {
+            accepted = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException e) {
+            return "";
+        }
+        MimeTypeUtils.sortBySpecificity(accepted);
+        for (MediaType type : accepted) {
+            if (type.getQualityValue() == 0) {
+                continue;
+            }
+            for (int i = 0; i < FORMATS.size(); i++) {
+                if (type.isCompatibleWith(FORMATS.get(i))) {
+                    return SUFFIXES.get(i);
+                }
+            }
+        }
+        return "";
+    }
+
+    // "12-cbor" -> "12"
+    static String stripSuffix(String tag) {
+        for (String suffix : SUFFIXES) {
+            if (!suffix.isEmpty() && tag.endsWith(suffix)) {
+                return tag.substring(0, tag.length() - suffix.length());
+            }
+        }
+        return tag;
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.vacationPlanner.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.DynamicUpdate;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
@@ -9,13 +10,15 @@ import java.time.LocalDate;
 import java.time.LocalTime;
 
 @Entity
+@DynamicUpdate
 @Table(name = "activities")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Activity {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "activity_seq")
+    @SequenceGenerator(name = "activity_seq", sequenceName = "activities_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -39,6 +42,9 @@ public class Activity {
     private Double latitude;
     private Double longitude;
 
+    // GeoCell code of (latitude, longitude), kept in step by the setters; backs the nearby search
+    private Long geoCell;
+
     @Column(columnDefinition = "TEXT")
     private String notes;
 
@@ -46,6 +52,9 @@ public class Activity {
     @JoinColumn(name = "itinerary_id", nullable = false)
     private Itinerary itinerary;
 
+    @Version
+    private Long version;
+
   public Long getId() {
     return id;
   }
@@ -120,10 +129,16 @@ public class Activity {
 
   public void setLatitude(Double latitude) {
     this.latitude = latitude;
+    this.geoCell = GeoCell.encode(latitude, longitude);
   }
 
   public void setLongitude(Double longitude) {
     this.longitude = longitude;
+    this.geoCell = GeoCell.encode(latitude, longitude);
+  }
+
+  public Long getGeoCell() {
+    return geoCell;
   }
 
   public void setNotes(String notes) {
@@ -133,4 +148,12 @@ public class Activity {
   public void setItinerary(Itinerary itinerary) {
     this.itinerary = itinerary;
   }
+
+  public Long getVersion() {
+    return version;
+  }
+
+  public void setVersion(Long version) {
+    this.version = version;
+  }
 }
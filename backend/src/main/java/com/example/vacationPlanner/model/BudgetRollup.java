@@ -0,0 +1,100 @@
+package com.example.vacationPlanner.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// One itinerary day of budget_rollups; written through BudgetRollupRepository's delta batches and the reconciler
+@Entity
+@Table(name = "budget_rollups")
+@IdClass(BudgetRollup.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BudgetRollup {
+    @Id
+    private Long itineraryId;
+
+    @Id
+    private LocalDate date;
+
+    @Column(nullable = false)
+    private BigDecimal totalCost;
+
+    @Column(nullable = false)
+    private Long activityCount;
+
+    @Column(nullable = false)
+    private Long totalDuration;
+
+    private BigDecimal minCost;
+    private BigDecimal maxCost;
+
+  public Long getItineraryId() {
+    return itineraryId;
+  }
+
+  public void setItineraryId(Long itineraryId) {
+    this.itineraryId = itineraryId;
+  }
+
+  public LocalDate getDate() {
+    return date;
+  }
+
+  public void setDate(LocalDate date) {
+    this.date = date;
+  }
+
+  public BigDecimal getTotalCost() {
+    return totalCost;
+  }
+
+  public void setTotalCost(BigDecimal totalCost) {
+    this.totalCost = totalCost;
+  }
+
+  public Long getActivityCount() {
+    return activityCount;
+  }
+
+  public void setActivityCount(Long activityCount) {
+    this.activityCount = activityCount;
+  }
+
+  public Long getTotalDuration() {
+    return totalDuration;
+  }
+
+  public void setTotalDuration(Long totalDuration) {
+    this.totalDuration = totalDuration;
+  }
+
+  public BigDecimal getMinCost() {
+    return minCost;
+  }
+
+  public void setMinCost(BigDecimal minCost) {
+    this.minCost = minCost;
+  }
+
+  public BigDecimal getMaxCost() {
+    return maxCost;
+  }
+
+  public void setMaxCost(BigDecimal maxCost) {
+    this.maxCost = maxCost;
+  }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long itineraryId;
+        private LocalDate date;
+    }
+}
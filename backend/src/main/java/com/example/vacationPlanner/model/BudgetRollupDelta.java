@@ -0,0 +1,74 @@
+package com.example.vacationPlanner.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Net change to one budget_rollups row from a single write. Additions can move min/max directly; once an
+// activity has been taken away the row's min/max have to be recomputed from that day's activities. Costs are
+// accumulated in cents (see Money) and only become BigDecimals when the delta is written.
+public class BudgetRollupDelta {
+
+    private final Long itineraryId;
+    private final LocalDate date;
+    private long cost;
+    private long count;
+    private long duration;
+    private long addedMin = Long.MAX_VALUE;
+    private long addedMax = Long.MIN_VALUE;
+    private boolean additions;
+    private boolean removals;
+
+    public BudgetRollupDelta(Long itineraryId, LocalDate date) {
+        this.itineraryId = itineraryId;
+        this.date = date;
+    }
+
+    public void add(BigDecimal activityCost, int activityDuration) {
+        long cents = Money.toMinorUnits(activityCost);
+        cost = Math.addExact(cost, cents);
+        count++;
+        duration += activityDuration;
+        addedMin = Math.min(addedMin, cents);
+        addedMax = Math.max(addedMax, cents);
+        additions = true;
+    }
+
+    public void remove(BigDecimal activityCost, int activityDuration) {
+        cost = Math.subtractExact(cost, Money.toMinorUnits(activityCost));
+        count--;
+        duration -= activityDuration;
+        removals = true;
+    }
+
+    public Long getItineraryId() {
+        return itineraryId;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public BigDecimal getCost() {
+        return Money.fromMinorUnits(cost);
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getDuration() {
+        return duration;
+    }
+
+    public BigDecimal getAddedMin() {
+        return additions ? Money.fromMinorUnits(addedMin) : null;
+    }
+
+    public BigDecimal getAddedMax() {
+        return additions ? Money.fromMinorUnits(addedMax) : null;
+    }
+
+    public boolean hasRemovals() {
+        return removals;
+    }
+}
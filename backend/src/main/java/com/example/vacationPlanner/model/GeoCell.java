@@ -0,0 +1,88 @@
+package com.example.vacationPlanner.model;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+// Z-order (Morton) code of a coordinate: 26 bits of latitude and 26 of longitude interleaved (~0.3 m at the
+// finest level). Every cell of a coarser level covers one contiguous range of codes, so a plain B-tree on
+// activities.geo_cell can answer bounding-box queries with a few range scans.
+public final class GeoCell {
+
+    public static final int MAX_LEVEL = 26;
+
+    private GeoCell() {
+    }
+
+    public static Long encode(Double latitude, Double longitude) {
+        if (latitude == null || longitude == null) {
+            return null;
+        }
+        return interleave(latIndex(latitude, MAX_LEVEL), lngIndex(longitude, MAX_LEVEL));
+    }
+
+    public static int latIndex(double latitude, int level) {
+        return index((latitude + 90) / 180, level);
+    }
+
+    public static int lngIndex(double longitude, int level) {
+        return index((longitude + 180) / 360, level);
+    }
+
+    // Code ranges covering the box: cells of the finest level that is at least as large as the box, which the
+    // box can overlap at most 2 x 2 of, with neighbouring ranges merged
+    public static List<Range> covering(double minLat, double maxLat, double minLng, double maxLng) {
+        int level = MAX_LEVEL;
+        while (level > 0 && (180.0 / (1L << level) < maxLat - minLat || 360.0 / (1L << level) < maxLng - minLng)) {
+            level--;
+        }
+        List<Range> cells = new ArrayList<>(4);
+        for (int lat = latIndex(minLat, level); lat <= latIndex(maxLat, level); lat++) {
+            for (int lng = lngIndex(minLng, level); lng <= lngIndex(maxLng, level); lng++) {
+                cells.add(range(lat, lng, level));
+            }
+        }
+        cells.sort(Comparator.comparingLong(Range::start));
+        List<Range> merged = new ArrayList<>(cells.size());
+        for (Range cell : cells) {
+            Range last = merged.isEmpty() ? null : merged.get(merged.size() - 1);
+            if (last != null && last.end() + 1 == cell.start()) {
+                merged.set(merged.size() - 1, new Range(last.start(), cell.end()));
+            } else {
+                merged.add(cell);
+            }
+        }
+        return merged;
+    }
+
+    // All codes inside cell (latIndex, lngIndex) of the given level
+    public static Range range(int latIndex, int lngIndex, int level) {
+        int shift = 2 * (MAX_LEVEL - level);
+        long code = interleave(latIndex, lngIndex);
+        return new Range(code << shift, ((code + 1) << shift) - 1);
+    }
+
+    private static int index(double fraction, int level) {
+        long cells = 1L << level;
+        long index = (long) Math.floor(fraction * cells);
+        return (int) Math.max(0, Math.min(cells - 1, index));
+    }
+
+    private static long interleave(int latIndex, int lngIndex) {
+        return (spread(latIndex) << 1) | spread(lngIndex);
+    }
+
+    // Moves bit k of the value to bit 2k
+    private static long spread(int value) {
+        long x = value & 0xFFFFFFFFL;
+        x = (x | (x << 16)) & 0x0000FFFF0000FFFFL;
+        x = (x | (x << 8)) & 0x00FF00FF00FF00FFL;
+        x = (x | (x << 4)) & 0x0F0F0F0F0F0F0F0FL;
+        x = (x | (x << 2)) & 0x3333333333333333L;
+        x = (x | (x << 1)) & 0x5555555555555555L;
+        return x;
+    }
+
+    public record Range(long start, long end) {
+    }
+}
@@ -1,19 +1,22 @@
 package com.example.vacationPlanner.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.DynamicUpdate;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 import java.time.LocalDate;
 
 @Entity
+@DynamicUpdate
 @Table(name = "itineraries")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Itinerary {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "itinerary_seq")
+    @SequenceGenerator(name = "itinerary_seq", sequenceName = "itineraries_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -35,6 +38,9 @@ public class Itinerary {
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
+    @Version
+    private Long version;
+
   public Long getId() {
     return id;
   }
@@ -90,4 +96,12 @@ public class Itinerary {
   public void setUser(User user) {
     this.user = user;
   }
+
+  public Long getVersion() {
+    return version;
+  }
+
+  public void setVersion(Long version) {
+    this.version = version;
+  }
 }
@@ -0,0 +1,30 @@
+package com.example.vacationPlanner.model;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Currency;
+
+// Activity costs carry no currency of their own: every amount is in euros, stored as NUMERIC(38,2). Budget code
+// adds them up as a long count of cents and only turns the results back into BigDecimal at the edges.
+public final class Money {
+
+    public static final Currency CURRENCY = Currency.getInstance("EUR");
+
+    private static final int SCALE = CURRENCY.getDefaultFractionDigits();
+
+    private Money() {
+    }
+
+    // Rounds half up to whole cents, which is what the cost columns do when an amount is stored. Throws
+    // ArithmeticException rather than wrapping if the amount does not fit in a long.
+    public static long toMinorUnits(BigDecimal amount) {
+        if (amount.scale() != SCALE) {
+            amount = amount.setScale(SCALE, RoundingMode.HALF_UP);
+        }
+        return amount.unscaledValue().longValueExact();
+    }
+
+    public static BigDecimal fromMinorUnits(long minorUnits) {
+        return BigDecimal.valueOf(minorUnits, SCALE);
+    }
+}
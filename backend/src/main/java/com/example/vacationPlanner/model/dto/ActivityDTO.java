@@ -22,6 +22,7 @@ public class ActivityDTO {
     private Double longitude;
     private String notes;
     private Long itineraryId;
+    private Long version;
 
   public Long getId() {
     return id;
@@ -67,6 +68,10 @@ public class ActivityDTO {
     return itineraryId;
   }
 
+  public Long getVersion() {
+    return version;
+  }
+
   public void setId(Long id) {
     this.id = id;
   }
@@ -110,4 +115,8 @@ public class ActivityDTO {
   public void setItineraryId(Long itineraryId) {
     this.itineraryId = itineraryId;
   }
+
+  public void setVersion(Long version) {
+    this.version = version;
+  }
 }
@@ -0,0 +1,51 @@
+package com.example.vacationPlanner.model.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+// One change to an itinerary, as pushed by GET /api/itineraries/{id}/events. CREATED and UPDATED carry the
+// activity as written; DELETED only its id. ITINERARY_DELETED is the last event of a stream.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ActivityEventDTO {
+    public enum Type { CREATED, UPDATED, DELETED, ITINERARY_DELETED }
+
+    private Type type;
+    private Long itineraryId;
+    private Long activityId;
+    private ActivityDTO activity;
+
+  public Type getType() {
+    return type;
+  }
+
+  public void setType(Type type) {
+    this.type = type;
+  }
+
+  public Long getItineraryId() {
+    return itineraryId;
+  }
+
+  public void setItineraryId(Long itineraryId) {
+    this.itineraryId = itineraryId;
+  }
+
+  public Long getActivityId() {
+    return activityId;
+  }
+
+  public void setActivityId(Long activityId) {
+    this.activityId = activityId;
+  }
+
+  public ActivityDTO getActivity() {
+    return activity;
+  }
+
+  public void setActivity(ActivityDTO activity) {
+    this.activity = activity;
+  }
+}
@@ -0,0 +1,85 @@
+package com.example.vacationPlanner.model.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BudgetSummaryDTO {
+    private Long itineraryId;
+    private BigDecimal totalCost;
+    private BigDecimal minCost;
+    private BigDecimal maxCost;
+    private Long activityCount;
+    private Long totalDuration;
+    private List<DailyBudgetDTO> daily;
+
+    public BudgetSummaryDTO(BigDecimal totalCost, BigDecimal minCost, BigDecimal maxCost, Long activityCount,
+                            Long totalDuration) {
+        this.totalCost = totalCost;
+        this.minCost = minCost;
+        this.maxCost = maxCost;
+        this.activityCount = activityCount;
+        this.totalDuration = totalDuration;
+    }
+
+  public Long getItineraryId() {
+    return itineraryId;
+  }
+
+  public void setItineraryId(Long itineraryId) {
+    this.itineraryId = itineraryId;
+  }
+
+  public BigDecimal getTotalCost() {
+    return totalCost;
+  }
+
+  public void setTotalCost(BigDecimal totalCost) {
+    this.totalCost = totalCost;
+  }
+
+  public BigDecimal getMinCost() {
+    return minCost;
+  }
+
+  public void setMinCost(BigDecimal minCost) {
+    this.minCost = minCost;
+  }
+
+  public BigDecimal getMaxCost() {
+    return maxCost;
+  }
+
+  public void setMaxCost(BigDecimal maxCost) {
+    this.maxCost = maxCost;
+  }
+
+  public Long getActivityCount() {
+    return activityCount;
+  }
+
+  public void setActivityCount(Long activityCount) {
+    this.activityCount = activityCount;
+  }
+
+  public Long getTotalDuration() {
+    return totalDuration;
+  }
+
+  public void setTotalDuration(Long totalDuration) {
+    this.totalDuration = totalDuration;
+  }
+
+  public List<DailyBudgetDTO> getDaily() {
+    return daily;
+  }
+
+  public void setDaily(List<DailyBudgetDTO> daily) {
+    this.daily = daily;
+  }
+}
@@ -0,0 +1,67 @@
+package com.example.vacationPlanner.model.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyBudgetDTO {
+    private LocalDate date;
+    private BigDecimal totalCost;
+    private BigDecimal minCost;
+    private BigDecimal maxCost;
+    private Long activityCount;
+    private Long totalDuration;
+
+  public LocalDate getDate() {
+    return date;
+  }
+
+  public void setDate(LocalDate date) {
+    this.date = date;
+  }
+
+  public BigDecimal getTotalCost() {
+    return totalCost;
+  }
+
+  public void setTotalCost(BigDecimal totalCost) {
+    this.totalCost = totalCost;
+  }
+
+  public BigDecimal getMinCost() {
+    return minCost;
+  }
+
+  public void setMinCost(BigDecimal minCost) {
+    this.minCost = minCost;
+  }
+
+  public BigDecimal getMaxCost() {
+    return maxCost;
+  }
+
+  public void setMaxCost(BigDecimal maxCost) {
+    this.maxCost = maxCost;
+  }
+
+  public Long getActivityCount() {
+    return activityCount;
+  }
+
+  public void setActivityCount(Long activityCount) {
+    this.activityCount = activityCount;
+  }
+
+  public Long getTotalDuration() {
+    return totalDuration;
+  }
+
+  public void setTotalDuration(Long totalDuration) {
+    this.totalDuration = totalDuration;
+  }
+}
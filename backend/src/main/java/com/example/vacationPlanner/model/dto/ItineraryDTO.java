@@ -16,6 +16,7 @@ public class ItineraryDTO {
     private LocalDate endDate;
     private String notes;
     private Long userId;
+    private Long version;
 
   public Long getId() {
     return id;
@@ -72,4 +73,12 @@ public class ItineraryDTO {
   public void setUserId(Long userId) {
     this.userId = userId;
   }
+
+  public Long getVersion() {
+    return version;
+  }
+
+  public void setVersion(Long version) {
+    this.version = version;
+  }
 }
@@ -0,0 +1,40 @@
+package com.example.vacationPlanner.model.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItineraryDayDTO {
+    private LocalDate date;
+    private List<Long> activityIds;
+    private List<TravelGapDTO> gaps;
+
+  public LocalDate getDate() {
+    return date;
+  }
+
+  public void setDate(LocalDate date) {
+    this.date = date;
+  }
+
+  public List<Long> getActivityIds() {
+    return activityIds;
+  }
+
+  public void setActivityIds(List<Long> activityIds) {
+    this.activityIds = activityIds;
+  }
+
+  public List<TravelGapDTO> getGaps() {
+    return gaps;
+  }
+
+  public void setGaps(List<TravelGapDTO> gaps) {
+    this.gaps = gaps;
+  }
+}
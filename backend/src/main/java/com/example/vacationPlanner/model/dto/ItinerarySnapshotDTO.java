@@ -0,0 +1,48 @@
+package com.example.vacationPlanner.model.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItinerarySnapshotDTO {
+    private ItineraryDTO itinerary;
+    private List<ActivityDTO> activities;
+    private BudgetSummaryDTO budget;
+    private List<ItineraryDayDTO> days;
+
+  public ItineraryDTO getItinerary() {
+    return itinerary;
+  }
+
+  public void setItinerary(ItineraryDTO itinerary) {
+    this.itinerary = itinerary;
+  }
+
+  public List<ActivityDTO> getActivities() {
+    return activities;
+  }
+
+  public void setActivities(List<ActivityDTO> activities) {
+    this.activities = activities;
+  }
+
+  public BudgetSummaryDTO getBudget() {
+    return budget;
+  }
+
+  public void setBudget(BudgetSummaryDTO budget) {
+    this.budget = budget;
+  }
+
+  public List<ItineraryDayDTO> getDays() {
+    return days;
+  }
+
+  public void setDays(List<ItineraryDayDTO> days) {
+    this.days = days;
+  }
+}
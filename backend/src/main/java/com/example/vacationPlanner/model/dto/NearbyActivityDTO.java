@@ -0,0 +1,29 @@
+package com.example.vacationPlanner.model.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NearbyActivityDTO {
+    private ActivityDTO activity;
+    private double distanceKm;
+
+  public ActivityDTO getActivity() {
+    return activity;
+  }
+
+  public void setActivity(ActivityDTO activity) {
+    this.activity = activity;
+  }
+
+  public double getDistanceKm() {
+    return distanceKm;
+  }
+
+  public void setDistanceKm(double distanceKm) {
+    this.distanceKm = distanceKm;
+  }
+}
@@ -0,0 +1,84 @@
+package com.example.vacationPlanner.model.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import java.time.LocalTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OptimizedStopDTO {
+    private Long activityId;
+    private String name;
+    private LocalTime originalStartTime;
+    private LocalTime startTime;
+    private Integer duration;
+    private Integer travelMinutesFromPrevious;
+    private boolean fixed;
+    private Integer minutesLate;
+
+  public Long getActivityId() {
+    return activityId;
+  }
+
+  public void setActivityId(Long activityId) {
+    this.activityId = activityId;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public void setName(String name) {
+    this.name = name;
+  }
+
+  public LocalTime getOriginalStartTime() {
+    return originalStartTime;
+  }
+
+  public void setOriginalStartTime(LocalTime originalStartTime) {
+    this.originalStartTime = originalStartTime;
+  }
+
+  public LocalTime getStartTime() {
+    return startTime;
+  }
+
+  public void setStartTime(LocalTime startTime) {
+    this.startTime = startTime;
+  }
+
+  public Integer getDuration() {
+    return duration;
+  }
+
+  public void setDuration(Integer duration) {
+    this.duration = duration;
+  }
+
+  public Integer getTravelMinutesFromPrevious() {
+    return travelMinutesFromPrevious;
+  }
+
+  public void setTravelMinutesFromPrevious(Integer travelMinutesFromPrevious) {
+    this.travelMinutesFromPrevious = travelMinutesFromPrevious;
+  }
+
+  public boolean isFixed() {
+    return fixed;
+  }
+
+  public void setFixed(boolean fixed) {
+    this.fixed = fixed;
+  }
+
+  public Integer getMinutesLate() {
+    return minutesLate;
+  }
+
+  public void setMinutesLate(Integer minutesLate) {
+    this.minutesLate = minutesLate;
+  }
+}
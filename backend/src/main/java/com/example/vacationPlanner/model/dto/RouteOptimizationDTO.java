@@ -0,0 +1,85 @@
+package com.example.vacationPlanner.model.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RouteOptimizationDTO {
+    private Long itineraryId;
+    private LocalDate date;
+    private List<OptimizedStopDTO> stops;
+    private double originalDistanceKm;
+    private double optimizedDistanceKm;
+    private int originalTravelMinutes;
+    private int optimizedTravelMinutes;
+    private boolean applied;
+
+  public Long getItineraryId() {
+    return itineraryId;
+  }
+
+  public void setItineraryId(Long itineraryId) {
+    this.itineraryId = itineraryId;
+  }
+
+  public LocalDate getDate() {
+    return date;
+  }
+
+  public void setDate(LocalDate date) {
+    this.date = date;
+  }
+
+  public List<OptimizedStopDTO> getStops() {
+    return stops;
+  }
+
+  public void setStops(List<OptimizedStopDTO> stops) {
+    this.stops = stops;
+  }
+
+  public double getOriginalDistanceKm() {
+    return originalDistanceKm;
+  }
+
+  public void setOriginalDistanceKm(double originalDistanceKm) {
+    this.originalDistanceKm = originalDistanceKm;
+  }
+
+  public double getOptimizedDistanceKm() {
+    return optimizedDistanceKm;
+  }
+
+  public void setOptimizedDistanceKm(double optimizedDistanceKm) {
+    this.optimizedDistanceKm = optimizedDistanceKm;
+  }
+
+  public int getOriginalTravelMinutes() {
+    return originalTravelMinutes;
+  }
+
+  public void setOriginalTravelMinutes(int originalTravelMinutes) {
+    this.originalTravelMinutes = originalTravelMinutes;
+  }
+
+  public int getOptimizedTravelMinutes() {
+    return optimizedTravelMinutes;
+  }
+
+  public void setOptimizedTravelMinutes(int optimizedTravelMinutes) {
+    this.optimizedTravelMinutes = optimizedTravelMinutes;
+  }
+
+  public boolean isApplied() {
+    return applied;
+  }
+
+  public void setApplied(boolean applied) {
+    this.applied = applied;
+  }
+}
@@ -0,0 +1,88 @@
+package com.example.vacationPlanner.model.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import java.time.LocalDate;
+
+// OVERLAP: the second activity starts before the first one ends. TRAVEL: the gap between them is shorter than
+// the estimated travel time. firstActivityId is always the earlier of the two.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScheduleConflictDTO {
+    public enum Type { OVERLAP, TRAVEL }
+
+    private Type type;
+    private LocalDate date;
+    private Long firstActivityId;
+    private Long secondActivityId;
+    private Integer overlapMinutes;
+    private Integer freeMinutes;
+    private Double distanceKm;
+    private Integer travelMinutes;
+
+  public Type getType() {
+    return type;
+  }
+
+  public void setType(Type type) {
+    this.type = type;
+  }
+
+  public LocalDate getDate() {
+    return date;
+  }
+
+  public void setDate(LocalDate date) {
+    this.date = date;
+  }
+
+  public Long getFirstActivityId() {
+    return firstActivityId;
+  }
+
+  public void setFirstActivityId(Long firstActivityId) {
+    this.firstActivityId = firstActivityId;
+  }
+
+  public Long getSecondActivityId() {
+    return secondActivityId;
+  }
+
+  public void setSecondActivityId(Long secondActivityId) {
+    this.secondActivityId = secondActivityId;
+  }
+
+  public Integer getOverlapMinutes() {
+    return overlapMinutes;
+  }
+
+  public void setOverlapMinutes(Integer overlapMinutes) {
+    this.overlapMinutes = overlapMinutes;
+  }
+
+  public Integer getFreeMinutes() {
+    return freeMinutes;
+  }
+
+  public void setFreeMinutes(Integer freeMinutes) {
+    this.freeMinutes = freeMinutes;
+  }
+
+  public Double getDistanceKm() {
+    return distanceKm;
+  }
+
+  public void setDistanceKm(Double distanceKm) {
+    this.distanceKm = distanceKm;
+  }
+
+  public Integer getTravelMinutes() {
+    return travelMinutes;
+  }
+
+  public void setTravelMinutes(Integer travelMinutes) {
+    this.travelMinutes = travelMinutes;
+  }
+}
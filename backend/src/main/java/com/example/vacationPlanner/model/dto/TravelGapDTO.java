@@ -0,0 +1,56 @@
+package com.example.vacationPlanner.model.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TravelGapDTO {
+    private Long fromActivityId;
+    private Long toActivityId;
+    private Double distanceKm;
+    private Integer travelMinutes;
+    private Integer freeMinutes;
+
+  public Long getFromActivityId() {
+    return fromActivityId;
+  }
+
+  public void setFromActivityId(Long fromActivityId) {
+    this.fromActivityId = fromActivityId;
+  }
+
+  public Long getToActivityId() {
+    return toActivityId;
+  }
+
+  public void setToActivityId(Long toActivityId) {
+    this.toActivityId = toActivityId;
+  }
+
+  public Double getDistanceKm() {
+    return distanceKm;
+  }
+
+  public void setDistanceKm(Double distanceKm) {
+    this.distanceKm = distanceKm;
+  }
+
+  public Integer getTravelMinutes() {
+    return travelMinutes;
+  }
+
+  public void setTravelMinutes(Integer travelMinutes) {
+    this.travelMinutes = travelMinutes;
+  }
+
+  public Integer getFreeMinutes() {
+    return freeMinutes;
+  }
+
+  public void setFreeMinutes(Integer freeMinutes) {
+    this.freeMinutes = freeMinutes;
+  }
+}
@@ -0,0 +1,47 @@
+package com.example.vacationPlanner.model.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TravelTimeDTO {
+    private String duration;
+    private String distance;
+    private Integer durationMinutes;
+    private Double distanceKm;
+
+  public String getDuration() {
+    return duration;
+  }
+
+  public void setDuration(String duration) {
+    this.duration = duration;
+  }
+
+  public String getDistance() {
+    return distance;
+  }
+
+  public void setDistance(String distance) {
+    this.distance = distance;
+  }
+
+  public Integer getDurationMinutes() {
+    return durationMinutes;
+  }
+
+  public void setDurationMinutes(Integer durationMinutes) {
+    this.durationMinutes = durationMinutes;
+  }
+
+  public Double getDistanceKm() {
+    return distanceKm;
+  }
+
+  public void setDistanceKm(Double distanceKm) {
+    this.distanceKm = distanceKm;
+  }
+}
@@ -0,0 +1,47 @@
+package com.example.vacationPlanner.model.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TravelTimeMatrixDTO {
+    private Long itineraryId;
+    private long[] activityIds;
+    private int[][] durationMinutes;
+    private double[][] distanceKm;
+
+  public Long getItineraryId() {
+    return itineraryId;
+  }
+
+  public void setItineraryId(Long itineraryId) {
+    this.itineraryId = itineraryId;
+  }
+
+  public long[] getActivityIds() {
+    return activityIds;
+  }
+
+  public void setActivityIds(long[] activityIds) {
+    this.activityIds = activityIds;
+  }
+
+  public int[][] getDurationMinutes() {
+    return durationMinutes;
+  }
+
+  public void setDurationMinutes(int[][] durationMinutes) {
+    this.durationMinutes = durationMinutes;
+  }
+
+  public double[][] getDistanceKm() {
+    return distanceKm;
+  }
+
+  public void setDistanceKm(double[][] distanceKm) {
+    this.distanceKm = distanceKm;
+  }
+}
@@ -1,47 +1,5 @@
 package com.example.vacationPlanner.model.dto;
 
-import lombok.Data;
-import lombok.NoArgsConstructor;
-import lombok.AllArgsConstructor;
-
-@Data
-@NoArgsConstructor
-@AllArgsConstructor
-public class UserDTO {
-    private Long id;
-    private String firebaseUid;
-    private String email;
-    private String name;
-
-  public Long getId() {
-    return id;
-  }
-
-  public void setId(Long id) {
-    this.id = id;
-  }
-
-  public String getName() {
-    return name;
-  }
-
-  public void setName(String name) {
-    this.name = name;
-  }
-
-  public String getEmail() {
-    return email;
-  }
-
-  public void setEmail(String email) {
-    this.email = email;
-  }
-
-  public String getFirebaseUid() {
-    return firebaseUid;
-  }
-
-  public void setFirebaseUid(String firebaseUid) {
-    this.firebaseUid = firebaseUid;
-  }
+// Immutable so the copy in the user caches cannot be changed by whoever it was handed to
+public record UserDTO(Long id, String firebaseUid, String email, String name) {
 }
@@ -1,14 +1,86 @@
 package com.example.vacationPlanner.repository;
 
 import com.example.vacationPlanner.model.Activity;
+import com.example.vacationPlanner.model.BudgetRollup;
+import com.example.vacationPlanner.model.dto.ActivityDTO;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface ActivityRepository extends JpaRepository<Activity, Long> {
+public interface ActivityRepository extends JpaRepository<Activity, Long>, ActivityRepositoryCustom {
     List<Activity> findByItineraryId(Long itineraryId);
     List<Activity> findByItineraryIdAndDateOrderByStartTime(Long itineraryId, LocalDate date);
-    void deleteByItineraryId(Long itineraryId);
+
+    @Modifying
+    @Query("delete from Activity a where a.itinerary.id = :itineraryId")
+    int deleteByItineraryId(@Param("itineraryId") Long itineraryId);
+
+    @Modifying
+    @Query("delete from Activity a where a.itinerary.id in (select i.id from Itinerary i where i.user.id = :userId)")
+    int deleteByUserId(@Param("userId") Long userId);
+
+    @Query("select new com.example.vacationPlanner.model.dto.ActivityDTO(a.id, a.name, a.location, a.startTime, a.duration, " +
+           "a.cost, a.date, a.latitude, a.longitude, a.notes, a.itinerary.id, a.version) from Activity a where a.itinerary.id = :itineraryId")
+    List<ActivityDTO> findDTOsByItineraryId(@Param("itineraryId") Long itineraryId);
+
+    @Query("select new com.example.vacationPlanner.model.dto.ActivityDTO(a.id, a.name, a.location, a.startTime, a.duration, " +
+           "a.cost, a.date, a.latitude, a.longitude, a.notes, a.itinerary.id, a.version) from Activity a " +
+           "where a.itinerary.id = :itineraryId order by a.date, a.startTime, a.id")
+    List<ActivityDTO> findOrderedDTOsByItineraryId(@Param("itineraryId") Long itineraryId);
+
+    @Query("select new com.example.vacationPlanner.model.dto.ActivityDTO(a.id, a.name, a.location, a.startTime, a.duration, " +
+           "a.cost, a.date, a.latitude, a.longitude, a.notes, a.itinerary.id, a.version) from Activity a " +
+           "where a.itinerary.id = :itineraryId and a.date = :date order by a.startTime")
+    List<ActivityDTO> findDTOsByItineraryIdAndDate(@Param("itineraryId") Long itineraryId, @Param("date") LocalDate date);
+
+    @Query("select new com.example.vacationPlanner.model.dto.ActivityDTO(a.id, a.name, a.location, a.startTime, a.duration, " +
+           "a.cost, a.date, a.latitude, a.longitude, a.notes, a.itinerary.id, a.version) from Activity a where a.id = :id")
+    Optional<ActivityDTO> findDTOById(@Param("id") Long id);
+
+    @Query("select a.version from Activity a where a.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    @Query("select new com.example.vacationPlanner.model.dto.ActivityDTO(a.id, a.name, a.location, a.startTime, a.duration, " +
+           "a.cost, a.date, a.latitude, a.longitude, a.notes, a.itinerary.id, a.version) from Activity a " +
+           "where a.itinerary.id = :itineraryId order by a.date, a.startTime, a.id")
+    List<ActivityDTO> findDTOPageByItineraryId(@Param("itineraryId") Long itineraryId, Limit limit);
+
+    @Query("select new com.example.vacationPlanner.model.dto.ActivityDTO(a.id, a.name, a.location, a.startTime, a.duration, " +
+           "a.cost, a.date, a.latitude, a.longitude, a.notes, a.itinerary.id, a.version) from Activity a " +
+           "where a.itinerary.id = :itineraryId and (a.date > :date " +
+           "or (a.date = :date and a.startTime > :startTime) " +
+           "or (a.date = :date and a.startTime = :startTime and a.id > :afterId)) " +
+           "order by a.date, a.startTime, a.id")
+    List<ActivityDTO> findDTOPageByItineraryIdAfter(@Param("itineraryId") Long itineraryId, @Param("date") LocalDate date,
+                                                   @Param("startTime") LocalTime startTime, @Param("afterId") Long afterId,
+                                                   Limit limit);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select new com.example.vacationPlanner.model.dto.ActivityDTO(a.id, a.name, a.location, a.startTime, a.duration, " +
+           "a.cost, a.date, a.latitude, a.longitude, a.notes, a.itinerary.id, a.version) from Activity a " +
+           "where a.itinerary.id = :itineraryId order by a.date, a.startTime, a.id")
+    Stream<ActivityDTO> streamDTOsByItineraryId(@Param("itineraryId") Long itineraryId);
+
+    @Query("select new com.example.vacationPlanner.model.dto.ActivityDTO(a.id, a.name, a.location, a.startTime, a.duration, " +
+           "a.cost, a.date, a.latitude, a.longitude, a.notes, a.itinerary.id, a.version) from Activity a where a.id in :ids")
+    List<ActivityDTO> findDTOsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // What budget_rollups should hold for these itineraries, recomputed from the activities
+    @Query("select new com.example.vacationPlanner.model.BudgetRollup(a.itinerary.id, a.date, sum(a.cost), count(a), " +
+           "sum(a.duration), min(a.cost), max(a.cost)) from Activity a " +
+           "where a.itinerary.id in :itineraryIds group by a.itinerary.id, a.date")
+    List<BudgetRollup> summarizeRollupsByItineraryIdIn(@Param("itineraryIds") Collection<Long> itineraryIds);
 }
@@ -0,0 +1,13 @@
+package com.example.vacationPlanner.repository;
+
+import com.example.vacationPlanner.model.GeoCell;
+import com.example.vacationPlanner.model.dto.ActivityDTO;
+import java.util.List;
+
+public interface ActivityRepositoryCustom {
+
+    // Activities whose geo_cell falls in one of the ranges and whose coordinates lie in the box,
+    // roughly nearest to (originLat, originLng) first, at most limit rows
+    List<ActivityDTO> findDTOsInCellRanges(List<GeoCell.Range> ranges, double minLat, double maxLat,
+                                           double minLng, double maxLng, double originLat, double originLng, int limit);
+}
@@ -0,0 +1,49 @@
+package com.example.vacationPlanner.repository;
+
+import com.example.vacationPlanner.model.GeoCell;
+import com.example.vacationPlanner.model.dto.ActivityDTO;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import java.util.List;
+
+// The number of cell ranges varies per query (one to four), so the JPQL is assembled here instead of in @Query
+public class ActivityRepositoryCustomImpl implements ActivityRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<ActivityDTO> findDTOsInCellRanges(List<GeoCell.Range> ranges, double minLat, double maxLat,
+                                                  double minLng, double maxLng, double originLat, double originLng, int limit) {
+        StringBuilder jpql = new StringBuilder("select new com.example.vacationPlanner.model.dto.ActivityDTO(a.id, a.name, " +
+                "a.location, a.startTime, a.duration, a.cost, a.date, a.latitude, a.longitude, a.notes, a.itinerary.id, a.version) " +
+                "from Activity a where (");
+        for (int i = 0; i < ranges.size(); i++) {
+            if (i > 0) {
+                jpql.append(" or ");
+            }
+            jpql.append("a.geoCell between :start").append(i).append(" and :end").append(i);
+        }
+        // Equirectangular distance is enough to rank candidates; callers apply the exact radius
+        jpql.append(") and a.latitude between :minLat and :maxLat and a.longitude between :minLng and :maxLng " +
+                "order by (a.latitude - :originLat) * (a.latitude - :originLat) " +
+                "+ (a.longitude - :originLng) * (a.longitude - :originLng) * :lngScale");
+
+        TypedQuery<ActivityDTO> query = entityManager.createQuery(jpql.toString(), ActivityDTO.class);
+        for (int i = 0; i < ranges.size(); i++) {
+            query.setParameter("start" + i, ranges.get(i).start());
+            query.setParameter("end" + i, ranges.get(i).end());
+        }
+        double cosLat = Math.cos(Math.toRadians(originLat));
+        return query.setParameter("minLat", minLat)
+                .setParameter("maxLat", maxLat)
+                .setParameter("minLng", minLng)
+                .setParameter("maxLng", maxLng)
+                .setParameter("originLat", originLat)
+                .setParameter("originLng", originLng)
+                .setParameter("lngScale", cosLat * cosLat)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
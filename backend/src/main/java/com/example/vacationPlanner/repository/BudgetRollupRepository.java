@@ -0,0 +1,31 @@
+package com.example.vacationPlanner.repository;
+
+import com.example.vacationPlanner.model.BudgetRollup;
+import com.example.vacationPlanner.model.dto.DailyBudgetDTO;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+
+// Rows emptied by deletes are kept with activity_count = 0 and skipped by the reads
+@Repository
+public interface BudgetRollupRepository extends JpaRepository<BudgetRollup, BudgetRollup.Key>, BudgetRollupRepositoryCustom {
+
+    @Query("select sum(r.totalCost) from BudgetRollup r where r.itineraryId = :itineraryId")
+    BigDecimal sumCostByItineraryId(@Param("itineraryId") Long itineraryId);
+
+    @Query("select new com.example.vacationPlanner.model.dto.DailyBudgetDTO(r.date, r.totalCost, r.minCost, r.maxCost, " +
+           "r.activityCount, r.totalDuration) from BudgetRollup r " +
+           "where r.itineraryId = :itineraryId and r.activityCount > 0 order by r.date")
+    List<DailyBudgetDTO> findDailyByItineraryId(@Param("itineraryId") Long itineraryId);
+
+    // Taken by the reconciler before it re-aggregates, so writers still holding these rows finish first
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select r from BudgetRollup r where r.itineraryId in :itineraryIds")
+    List<BudgetRollup> lockByItineraryIdIn(@Param("itineraryIds") Collection<Long> itineraryIds);
+}
@@ -0,0 +1,10 @@
+package com.example.vacationPlanner.repository;
+
+import com.example.vacationPlanner.model.BudgetRollupDelta;
+import java.util.Collection;
+
+public interface BudgetRollupRepositoryCustom {
+
+    // Must run inside the writing transaction; pending entity changes are flushed first
+    void applyDeltas(Collection<BudgetRollupDelta> deltas);
+}
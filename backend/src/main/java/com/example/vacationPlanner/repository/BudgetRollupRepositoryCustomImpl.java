@@ -0,0 +1,88 @@
+package com.example.vacationPlanner.repository;
+
+import com.example.vacationPlanner.model.BudgetRollupDelta;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Deltas go out as JDBC batches, so a bulk write spanning many days costs three statements rather than two per day.
+// Each UPDATE adds to the stored values instead of overwriting them, and its row lock is held until commit,
+// so concurrent writers to the same day serialize on the row and neither change is lost. The removal UPDATE also
+// recomputes min/max from the day's activities; under READ COMMITTED a statement that waited for the row lock still
+// reads them as of its own start, so the days are locked with FOR UPDATE first and the UPDATE sees the writes that
+// committed while it waited.
+public class BudgetRollupRepositoryCustomImpl implements BudgetRollupRepositoryCustom {
+
+    private static final String INSERT_IF_ABSENT = "INSERT INTO budget_rollups "
+            + "(itinerary_id, date, total_cost, activity_count, total_duration) VALUES (?, ?, 0, 0, 0) ON CONFLICT DO NOTHING";
+
+    private static final String APPLY_ADDITIONS = "UPDATE budget_rollups SET total_cost = total_cost + ?, "
+            + "activity_count = activity_count + ?, total_duration = total_duration + ?, "
+            + "min_cost = LEAST(COALESCE(min_cost, ?), ?), max_cost = GREATEST(COALESCE(max_cost, ?), ?) "
+            + "WHERE itinerary_id = ? AND date = ?";
+
+    private static final String APPLY_REMOVALS = "UPDATE budget_rollups SET total_cost = total_cost + ?, "
+            + "activity_count = activity_count + ?, total_duration = total_duration + ?, "
+            + "min_cost = (SELECT MIN(a.cost) FROM activities a WHERE a.itinerary_id = budget_rollups.itinerary_id AND a.date = budget_rollups.date), "
+            + "max_cost = (SELECT MAX(a.cost) FROM activities a WHERE a.itinerary_id = budget_rollups.itinerary_id AND a.date = budget_rollups.date) "
+            + "WHERE itinerary_id = ? AND date = ?";
+
+    private static final String LOCK_DAYS = "SELECT itinerary_id FROM budget_rollups "
+            + "WHERE itinerary_id = ? AND date IN (%s) ORDER BY date FOR UPDATE";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void applyDeltas(Collection<BudgetRollupDelta> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        // The removal statement re-reads the day's activities, which must include this transaction's changes
+        entityManager.flush();
+
+        List<Object[]> keys = new ArrayList<>(deltas.size());
+        List<Object[]> additions = new ArrayList<>();
+        List<Object[]> removals = new ArrayList<>();
+        Map<Long, List<LocalDate>> removalDays = new LinkedHashMap<>();
+        for (BudgetRollupDelta delta : deltas) {
+            keys.add(new Object[]{delta.getItineraryId(), delta.getDate()});
+            if (delta.hasRemovals()) {
+                removals.add(new Object[]{delta.getCost(), delta.getCount(), delta.getDuration(),
+                        delta.getItineraryId(), delta.getDate()});
+                removalDays.computeIfAbsent(delta.getItineraryId(), id -> new ArrayList<>()).add(delta.getDate());
+            } else {
+                additions.add(new Object[]{delta.getCost(), delta.getCount(), delta.getDuration(),
+                        delta.getAddedMin(), delta.getAddedMin(), delta.getAddedMax(), delta.getAddedMax(),
+                        delta.getItineraryId(), delta.getDate()});
+            }
+        }
+        jdbcTemplate.batchUpdate(INSERT_IF_ABSENT, keys);
+        if (!additions.isEmpty()) {
+            jdbcTemplate.batchUpdate(APPLY_ADDITIONS, additions);
+        }
+        if (!removals.isEmpty()) {
+            removalDays.forEach(this::lockDays);
+            jdbcTemplate.batchUpdate(APPLY_REMOVALS, removals);
+        }
+    }
+
+    private void lockDays(Long itineraryId, List<LocalDate> dates) {
+        List<Object> args = new ArrayList<>(dates.size() + 1);
+        args.add(itineraryId);
+        args.addAll(dates);
+        String placeholders = String.join(", ", Collections.nCopies(dates.size(), "?"));
+        jdbcTemplate.queryForList(String.format(LOCK_DAYS, placeholders), Long.class, args.toArray());
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.vacationPlanner.repository;
+
+import com.example.vacationPlanner.model.GeocodeCacheEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface GeocodeCacheRepository extends JpaRepository<GeocodeCacheEntry, String> {
+}
@@ -2,12 +2,66 @@ package com.example.vacationPlanner.repository;
 
 import com.example.vacationPlanner.model.Itinerary;
 import com.example.vacationPlanner.model.User;
+import com.example.vacationPlanner.model.dto.ItineraryDTO;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ItineraryRepository extends JpaRepository<Itinerary, Long> {
     List<Itinerary> findByUser(User user);
     List<Itinerary> findByUserId(Long userId);
+
+    @Query("select i.user.id from Itinerary i where i.id = :id")
+    Optional<Long> findUserIdById(@Param("id") Long id);
+
+    @Query("select i.id from Itinerary i where i.user.id = :userId")
+    List<Long> findIdsByUserId(@Param("userId") Long userId);
+
+    @Query("select i.id from Itinerary i where i.id > :afterId order by i.id")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Limit limit);
+
+    @Modifying
+    @Query("delete from Itinerary i where i.id = :id")
+    int deleteItineraryById(@Param("id") Long id);
+
+    @Modifying
+    @Query("delete from Itinerary i where i.user.id = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+
+    @Query("select new com.example.vacationPlanner.model.dto.ItineraryDTO(i.id, i.name, i.location, i.startDate, i.endDate, " +
+           "i.notes, i.user.id, i.version) from Itinerary i where i.user.id = :userId")
+    List<ItineraryDTO> findDTOsByUserId(@Param("userId") Long userId);
+
+    @Query("select new com.example.vacationPlanner.model.dto.ItineraryDTO(i.id, i.name, i.location, i.startDate, i.endDate, " +
+           "i.notes, i.user.id, i.version) from Itinerary i where i.id = :id")
+    Optional<ItineraryDTO> findDTOById(@Param("id") Long id);
+
+    @Query("select new com.example.vacationPlanner.model.dto.ItineraryDTO(i.id, i.name, i.location, i.startDate, i.endDate, " +
+           "i.notes, i.user.id, i.version) from Itinerary i " +
+           "where i.user.id = :userId order by i.startDate, i.id")
+    List<ItineraryDTO> findDTOPageByUserId(@Param("userId") Long userId, Limit limit);
+
+    @Query("select new com.example.vacationPlanner.model.dto.ItineraryDTO(i.id, i.name, i.location, i.startDate, i.endDate, " +
+           "i.notes, i.user.id, i.version) from Itinerary i " +
+           "where i.user.id = :userId and (i.startDate > :startDate or (i.startDate = :startDate and i.id > :afterId)) " +
+           "order by i.startDate, i.id")
+    List<ItineraryDTO> findDTOPageByUserIdAfter(@Param("userId") Long userId, @Param("startDate") LocalDate startDate,
+                                                @Param("afterId") Long afterId, Limit limit);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select new com.example.vacationPlanner.model.dto.ItineraryDTO(i.id, i.name, i.location, i.startDate, i.endDate, " +
+           "i.notes, i.user.id, i.version) from Itinerary i " +
+           "where i.user.id = :userId order by i.startDate, i.id")
+    Stream<ItineraryDTO> streamDTOsByUserId(@Param("userId") Long userId);
 }
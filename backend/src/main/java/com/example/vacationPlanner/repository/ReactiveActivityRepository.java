@@ -0,0 +1,98 @@
+package com.example.vacationPlanner.repository;
+
+import com.example.vacationPlanner.model.dto.ActivityDTO;
+import com.example.vacationPlanner.model.dto.BudgetSummaryDTO;
+import com.example.vacationPlanner.model.dto.DailyBudgetDTO;
+import io.r2dbc.spi.Readable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+// R2DBC mirror of the read queries in ActivityRepository
+@Repository
+@Profile("reactive")
+public class ReactiveActivityRepository {
+
+    // Rows are pulled from the server in chunks of this size as subscribers request them
+    private static final int FETCH_SIZE = 500;
+
+    private static final String ACTIVITY_COLUMNS =
+            "select id, name, location, start_time, duration, cost, date, latitude, longitude, notes, itinerary_id, version from activities ";
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    public Flux<ActivityDTO> findDTOsByItineraryId(Long itineraryId) {
+        return databaseClient.sql(ACTIVITY_COLUMNS + "where itinerary_id = :itineraryId order by date, start_time, id")
+                .bind("itineraryId", itineraryId)
+                .filter((statement, next) -> next.execute(statement.fetchSize(FETCH_SIZE)))
+                .map(ReactiveActivityRepository::toActivityDTO)
+                .all();
+    }
+
+    public Flux<ActivityDTO> findDTOsByItineraryIdAndDate(Long itineraryId, LocalDate date) {
+        return databaseClient.sql(ACTIVITY_COLUMNS + "where itinerary_id = :itineraryId and date = :date order by start_time")
+                .bind("itineraryId", itineraryId)
+                .bind("date", date)
+                .map(ReactiveActivityRepository::toActivityDTO)
+                .all();
+    }
+
+    public Mono<ActivityDTO> findDTOById(Long id) {
+        return databaseClient.sql(ACTIVITY_COLUMNS + "where id = :id")
+                .bind("id", id)
+                .map(ReactiveActivityRepository::toActivityDTO)
+                .one();
+    }
+
+    // Budget reads use budget_rollups, like ActivityService
+    public Mono<BigDecimal> sumCostByItineraryId(Long itineraryId) {
+        return databaseClient.sql("select sum(total_cost) as total_cost from budget_rollups where itinerary_id = :itineraryId")
+                .bind("itineraryId", itineraryId)
+                .map(row -> row.get("total_cost", BigDecimal.class))
+                .one();
+    }
+
+    public Mono<BudgetSummaryDTO> summarizeCostByItineraryId(Long itineraryId) {
+        return databaseClient.sql("select sum(total_cost) as total_cost, min(min_cost) as min_cost, max(max_cost) as max_cost, " +
+                        "cast(sum(activity_count) as bigint) as activity_count, cast(sum(total_duration) as bigint) as total_duration " +
+                        "from budget_rollups where itinerary_id = :itineraryId and activity_count > 0")
+                .bind("itineraryId", itineraryId)
+                .map(row -> new BudgetSummaryDTO(row.get("total_cost", BigDecimal.class), row.get("min_cost", BigDecimal.class),
+                        row.get("max_cost", BigDecimal.class), row.get("activity_count", Long.class),
+                        row.get("total_duration", Long.class)))
+                .one();
+    }
+
+    public Flux<DailyBudgetDTO> summarizeDailyCostByItineraryId(Long itineraryId) {
+        return databaseClient.sql("select date, total_cost, min_cost, max_cost, activity_count, total_duration from budget_rollups " +
+                        "where itinerary_id = :itineraryId and activity_count > 0 order by date")
+                .bind("itineraryId", itineraryId)
+                .map(row -> new DailyBudgetDTO(row.get("date", LocalDate.class), row.get("total_cost", BigDecimal.class),
+                        row.get("min_cost", BigDecimal.class), row.get("max_cost", BigDecimal.class),
+                        row.get("activity_count", Long.class), row.get("total_duration", Long.class)))
+                .all();
+    }
+
+    private static ActivityDTO toActivityDTO(Readable row) {
+        return new ActivityDTO(
+                row.get("id", Long.class),
+                row.get("name", String.class),
+                row.get("location", String.class),
+                row.get("start_time", LocalTime.class),
+                row.get("duration", Integer.class),
+                row.get("cost", BigDecimal.class),
+                row.get("date", LocalDate.class),
+                row.get("latitude", Double.class),
+                row.get("longitude", Double.class),
+                row.get("notes", String.class),
+                row.get("itinerary_id", Long.class),
+                row.get("version", Long.class));
+    }
+}
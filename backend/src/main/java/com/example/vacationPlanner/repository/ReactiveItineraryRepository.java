@@ -0,0 +1,52 @@
+package com.example.vacationPlanner.repository;
+
+import com.example.vacationPlanner.model.dto.ItineraryDTO;
+import io.r2dbc.spi.Readable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import java.time.LocalDate;
+
+// R2DBC mirror of the read queries in ItineraryRepository
+@Repository
+@Profile("reactive")
+public class ReactiveItineraryRepository {
+
+    private static final int FETCH_SIZE = 500;
+
+    private static final String ITINERARY_COLUMNS =
+            "select id, name, location, start_date, end_date, notes, user_id, version from itineraries ";
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    public Flux<ItineraryDTO> findDTOsByUserId(Long userId) {
+        return databaseClient.sql(ITINERARY_COLUMNS + "where user_id = :userId order by start_date, id")
+                .bind("userId", userId)
+                .filter((statement, next) -> next.execute(statement.fetchSize(FETCH_SIZE)))
+                .map(ReactiveItineraryRepository::toItineraryDTO)
+                .all();
+    }
+
+    public Mono<ItineraryDTO> findDTOById(Long id) {
+        return databaseClient.sql(ITINERARY_COLUMNS + "where id = :id")
+                .bind("id", id)
+                .map(ReactiveItineraryRepository::toItineraryDTO)
+                .one();
+    }
+
+    private static ItineraryDTO toItineraryDTO(Readable row) {
+        return new ItineraryDTO(
+                row.get("id", Long.class),
+                row.get("name", String.class),
+                row.get("location", String.class),
+                row.get("start_date", LocalDate.class),
+                row.get("end_date", LocalDate.class),
+                row.get("notes", String.class),
+                row.get("user_id", Long.class),
+                row.get("version", Long.class));
+    }
+}
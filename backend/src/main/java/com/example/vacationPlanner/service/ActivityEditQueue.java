@@ -0,0 +1,125 @@
+package com.example.vacationPlanner.service;
+
+import com.example.vacationPlanner.model.dto.ActivityDTO;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Write-behind edits waiting to be flushed, at most one per activity: another edit to a queued activity is merged
+// into the queued one instead of taking a second slot. Only start time and notes are deferred, since neither
+// changes the budget rollups and both are what the UI sends in quick succession. Each edit carries the version of
+// the row it was made against (in its version field), and is only written while the row is still at that version.
+final class ActivityEditQueue {
+
+    private final int capacity;
+    private final ConcurrentHashMap<Long, ActivityDTO> pending = new ConcurrentHashMap<>();
+    private final AtomicInteger depth = new AtomicInteger();
+    private volatile boolean closed;
+
+    ActivityEditQueue(int capacity) {
+        this.capacity = capacity;
+    }
+
+    static boolean isDeferrable(ActivityDTO changes) {
+        return changes.getVersion() == null
+                && changes.getName() == null
+                && changes.getLocation() == null
+                && changes.getDuration() == null
+                && changes.getCost() == null
+                && changes.getDate() == null
+                && changes.getLatitude() == null
+                && changes.getLongitude() == null
+                && (changes.getStartTime() != null || changes.getNotes() != null);
+    }
+
+    // False when the edit would need a new slot and the queue is full, or after close(); the caller then writes
+    // the edit itself. An edit only merges into a queued one made against the same version: a queued edit of an
+    // older version was superseded by a synchronous write and is replaced. Merging builds a new edit rather than
+    // changing the queued one, so remove(id, edit) leaves anything merged in after edit was read.
+    boolean offer(Long activityId, ActivityDTO changes, Long version) {
+        if (closed) {
+            return false;
+        }
+        boolean[] accepted = {true};
+        pending.compute(activityId, (id, queued) -> {
+            if (queued == null) {
+                if (depth.incrementAndGet() > capacity) {
+                    depth.decrementAndGet();
+                    accepted[0] = false;
+                    return null;
+                }
+            } else if (!Objects.equals(queued.getVersion(), version)) {
+                queued = null;
+            }
+            ActivityDTO merged = new ActivityDTO();
+            merged.setVersion(version);
+            merged.setStartTime(changes.getStartTime() != null ? changes.getStartTime()
+                    : queued != null ? queued.getStartTime() : null);
+            merged.setNotes(changes.getNotes() != null ? changes.getNotes()
+                    : queued != null ? queued.getNotes() : null);
+            return merged;
+        });
+        return accepted[0];
+    }
+
+    // Removes and returns up to max edits by activity id. An edit offered while a drain is running either makes
+    // it into this batch or stays queued for the next one.
+    Map<Long, ActivityDTO> drain(int max) {
+        Map<Long, ActivityDTO> batch = new LinkedHashMap<>();
+        Iterator<Long> ids = pending.keySet().iterator();
+        while (batch.size() < max && ids.hasNext()) {
+            Long id = ids.next();
+            ActivityDTO changes = take(id);
+            if (changes != null) {
+                batch.put(id, changes);
+            }
+        }
+        return batch;
+    }
+
+    // Takes the queued edit of one activity out of the queue, or null if there is none
+    ActivityDTO take(Long activityId) {
+        ActivityDTO changes = pending.remove(activityId);
+        if (changes != null) {
+            depth.decrementAndGet();
+        }
+        return changes;
+    }
+
+    ActivityDTO peek(Long activityId) {
+        return pending.get(activityId);
+    }
+
+    // Removes the queued edit of one activity only if it is still the given one
+    void remove(Long activityId, ActivityDTO changes) {
+        if (pending.remove(activityId, changes)) {
+            depth.decrementAndGet();
+        }
+    }
+
+    // Moves a queued edit made against version from to version to, after the queue's own write of from committed
+    void rebase(Long activityId, Long from, Long to) {
+        pending.computeIfPresent(activityId, (id, queued) -> {
+            if (!Objects.equals(queued.getVersion(), from)) {
+                return queued;
+            }
+            ActivityDTO rebased = new ActivityDTO();
+            rebased.setVersion(to);
+            rebased.setStartTime(queued.getStartTime());
+            rebased.setNotes(queued.getNotes());
+            return rebased;
+        });
+    }
+
+    int depth() {
+        return depth.get();
+    }
+
+    // Stops accepting edits; whatever is queued can still be drained
+    void close() {
+        closed = true;
+    }
+}
@@ -1,39 +1,143 @@
 package com.example.vacationPlanner.service;
 
+import com.example.vacationPlanner.config.CacheConfig;
 import com.example.vacationPlanner.model.Activity;
 import com.example.vacationPlanner.model.Itinerary;
+import com.example.vacationPlanner.model.Money;
 import com.example.vacationPlanner.model.dto.ActivityDTO;
+import com.example.vacationPlanner.model.dto.BudgetSummaryDTO;
+import com.example.vacationPlanner.model.dto.CursorPageDTO;
+import com.example.vacationPlanner.model.dto.DailyBudgetDTO;
 import com.example.vacationPlanner.repository.ActivityRepository;
+import com.example.vacationPlanner.repository.BudgetRollupRepository;
 import com.example.vacationPlanner.repository.ItineraryRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class ActivityService {
     
+    private static final Logger log = LoggerFactory.getLogger(ActivityService.class);
+    
+    private static final int MAX_PAGE_SIZE = 1000;
+    
     @Autowired
     private ActivityRepository activityRepository;
     
     @Autowired
     private ItineraryRepository itineraryRepository;
     
+    @Autowired
+    private CacheInvalidator cacheInvalidator;
+    
+    @Autowired
+    private ServiceMetrics serviceMetrics;
+    
+    @Autowired
+    private ScheduleValidationService scheduleValidationService;
+    
+    @Autowired
+    private BudgetRollupRepository budgetRollupRepository;
+    
+    @Autowired
+    private BudgetRollupService budgetRollupService;
+    
+    @Autowired
+    private ItineraryEventBus itineraryEventBus;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    // Write-behind for PATCHes that only change start time or notes (see deferPatch); off unless enabled
+    @Value("${activity.write-behind.enabled:false}")
+    private boolean writeBehindEnabled;
+    
+    @Value("${activity.write-behind.capacity:10000}")
+    private int writeBehindCapacity;
+    
+    @Value("${activity.write-behind.batch-size:500}")
+    private int writeBehindBatchSize;
+    
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private ActivityEditQueue deferredEdits;
+    private TransactionTemplate transactionTemplate;
+    
+    @PostConstruct
+    void initWriteBehind() {
+        deferredEdits = new ActivityEditQueue(writeBehindCapacity);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        serviceMetrics.writeBehindQueue(deferredEdits::depth);
+    }
+    
+    @Cacheable(cacheNames = CacheConfig.ACTIVITIES_BY_ITINERARY)
     public List<ActivityDTO> getActivitiesByItineraryId(Long itineraryId) {
-        List<Activity> activities = activityRepository.findByItineraryId(itineraryId);
-        return activities.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return serviceMetrics.rowsReturned("activities.byItinerary", activityRepository.findDTOsByItineraryId(itineraryId));
+    }
+    
+    @Transactional(readOnly = true)
+    public CursorPageDTO<ActivityDTO> getActivityPage(Long itineraryId, String cursor, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        Limit fetchLimit = Limit.of(pageSize + 1);
+        
+        List<ActivityDTO> activities;
+        if (cursor == null || cursor.isEmpty()) {
+            activities = activityRepository.findDTOPageByItineraryId(itineraryId, fetchLimit);
+        } else {
+            String[] keys = KeysetCursor.decode(cursor, 3);
+            activities = activityRepository.findDTOPageByItineraryIdAfter(itineraryId,
+                    LocalDate.parse(keys[0]), LocalTime.parse(keys[1]), Long.valueOf(keys[2]), fetchLimit);
+        }
+        serviceMetrics.rowsReturned("activities.page", activities);
+        
+        String nextCursor = null;
+        if (activities.size() > pageSize) {
+            activities = activities.subList(0, pageSize);
+            ActivityDTO last = activities.get(pageSize - 1);
+            nextCursor = KeysetCursor.encode(last.getDate(), last.getStartTime(), last.getId());
+        }
+        return new CursorPageDTO<>(activities, nextCursor);
+    }
+    
+    @Transactional(readOnly = true)
+    public void streamActivitiesByItineraryId(Long itineraryId, Consumer<ActivityDTO> consumer) {
+        try (Stream<ActivityDTO> activities = activityRepository.streamDTOsByItineraryId(itineraryId)) {
+            activities.forEach(serviceMetrics.countingRows("activities.stream", consumer));
+        }
     }
     
     public Optional<ActivityDTO> getActivityById(Long id) {
-        return activityRepository.findById(id)
-                .map(this::convertToDTO);
+        return activityRepository.findDTOById(id);
     }
     
+    @Transactional
     public ActivityDTO createActivity(ActivityDTO activityDTO) {
         Optional<Itinerary> itinerary = itineraryRepository.findById(activityDTO.getItineraryId());
         if (itinerary.isEmpty()) {
@@ -41,61 +145,382 @@ public class ActivityService {
         }
         
         Activity activity = new Activity();
-        activity.setName(activityDTO.getName());
-        activity.setLocation(activityDTO.getLocation());
-        activity.setStartTime(activityDTO.getStartTime());
-        activity.setDuration(activityDTO.getDuration());
-        activity.setCost(activityDTO.getCost());
-        activity.setDate(activityDTO.getDate());
-        activity.setLatitude(activityDTO.getLatitude());
-        activity.setLongitude(activityDTO.getLongitude());
-        activity.setNotes(activityDTO.getNotes());
+        copyToEntity(activityDTO, activity);
         activity.setItinerary(itinerary.get());
         
         Activity savedActivity = activityRepository.save(activity);
-        return convertToDTO(savedActivity);
+        scheduleValidationService.checkWrite(activityDTO.getItineraryId(), Set.of(savedActivity.getId()));
+        BudgetRollupService.Changes budgetChanges = new BudgetRollupService.Changes();
+        budgetChanges.added(savedActivity);
+        budgetRollupService.apply(budgetChanges);
+        cacheInvalidator.activitiesChanged(activityDTO.getItineraryId());
+        ActivityDTO createdActivity = serviceMetrics.timeConversion(() -> convertToDTO(savedActivity));
+        itineraryEventBus.activitiesCreated(List.of(createdActivity));
+        return createdActivity;
+    }
+    
+    // expectedVersion comes from If-Match; without it the version in the body (if any) is checked
+    @Transactional
+    public ActivityDTO updateActivity(Long id, ActivityDTO activityDTO, Long expectedVersion) {
+        Activity activity = activityRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Activity not found"));
+        checkVersion(activity, expectedVersion != null ? expectedVersion : activityDTO.getVersion());
+        // A full update replaces whatever edit was still queued for this activity
+        supersedeDeferredEdit(id);
+        BudgetRollupService.Changes budgetChanges = new BudgetRollupService.Changes();
+        budgetChanges.removed(activity);
+        copyToEntity(activityDTO, activity);
+        
+        Activity savedActivity = activityRepository.saveAndFlush(activity);
+        scheduleValidationService.checkWrite(activity.getItinerary().getId(), Set.of(id));
+        budgetChanges.added(savedActivity);
+        budgetRollupService.apply(budgetChanges);
+        cacheInvalidator.activitiesChanged(activity.getItinerary().getId());
+        ActivityDTO updatedActivity = serviceMetrics.timeConversion(() -> convertToDTO(savedActivity));
+        itineraryEventBus.activitiesUpdated(List.of(updatedActivity));
+        return updatedActivity;
+    }
+    
+    // Applies only the non-null fields; with @DynamicUpdate the UPDATE lists just the columns that changed
+    @Transactional
+    public ActivityDTO patchActivity(Long id, ActivityDTO changes, Long expectedVersion) {
+        Activity activity = activityRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Activity not found"));
+        checkVersion(activity, expectedVersion != null ? expectedVersion : changes.getVersion());
+        BudgetRollupService.Changes budgetChanges = new BudgetRollupService.Changes();
+        budgetChanges.removed(activity);
+        // An edit still queued for this activity goes in first, so the newer patch wins where they overlap
+        ActivityDTO queued = supersedeDeferredEdit(id);
+        if (queued != null && Objects.equals(queued.getVersion(), activity.getVersion())) {
+            applyChanges(queued, activity);
+        }
+        applyChanges(changes, activity);
+        
+        Activity savedActivity = activityRepository.saveAndFlush(activity);
+        scheduleValidationService.checkWrite(activity.getItinerary().getId(), Set.of(id));
+        budgetChanges.added(savedActivity);
+        budgetRollupService.apply(budgetChanges);
+        cacheInvalidator.activitiesChanged(activity.getItinerary().getId());
+        ActivityDTO updatedActivity = serviceMetrics.timeConversion(() -> convertToDTO(savedActivity));
+        itineraryEventBus.activitiesUpdated(List.of(updatedActivity));
+        return updatedActivity;
+    }
+    
+    // Queues a PATCH that only moves the start time or edits the notes and returns true; it is then written
+    // in a batch within activity.write-behind.max-staleness. Returns false, and queues nothing, when
+    // write-behind is off, the patch touches other fields or carries a version, the activity does not exist,
+    // or the queue is full. A queued edit that fails (schedule conflict, activity deleted, or changed by a
+    // synchronous write since the edit was queued) is dropped and counted.
+    public boolean deferPatch(Long id, ActivityDTO changes) {
+        if (!writeBehindEnabled || !ActivityEditQueue.isDeferrable(changes)) {
+            return false;
+        }
+        Optional<Long> version = activityRepository.findVersionById(id);
+        return version.isPresent() && deferredEdits.offer(id, changes, version.get());
     }
     
-    public ActivityDTO updateActivity(Long id, ActivityDTO activityDTO) {
-        Optional<Activity> existingActivity = activityRepository.findById(id);
-        if (existingActivity.isEmpty()) {
+    // Runs at a fixed rate of max-staleness and writes every edit that was queued when it started, in
+    // transactions of up to batch-size activities
+    @Scheduled(fixedRateString = "${activity.write-behind.max-staleness:PT1S}")
+    public void flushDeferredEdits() {
+        flushLock.lock();
+        try {
+            int remaining = deferredEdits.depth();
+            while (remaining > 0) {
+                Map<Long, ActivityDTO> batch = deferredEdits.drain(Math.min(remaining, writeBehindBatchSize));
+                if (batch.isEmpty()) {
+                    break;
+                }
+                remaining -= batch.size();
+                serviceMetrics.timeWriteBehindFlush(() -> flushBatch(batch));
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+    
+    // Spring destroys this bean before the repositories and the transaction manager it depends on
+    @PreDestroy
+    void flushDeferredEditsOnShutdown() {
+        deferredEdits.close();
+        flushDeferredEdits();
+    }
+    
+    // One failing edit must not take the rest of its batch down with it, so a failed batch is retried edit by edit.
+    // The retry checks each edit's version again, so an edit that lost a race with a synchronous write is dropped
+    // rather than written over it.
+    private void flushBatch(Map<Long, ActivityDTO> edits) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> applyDeferredEdits(edits));
+        } catch (RuntimeException e) {
+            if (edits.size() == 1) {
+                dropDeferredEdit(edits.keySet().iterator().next(), e);
+                return;
+            }
+            edits.forEach((id, changes) -> {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> applyDeferredEdits(Map.of(id, changes)));
+                } catch (RuntimeException single) {
+                    dropDeferredEdit(id, single);
+                }
+            });
+        }
+    }
+    
+    // Start time and notes do not change the budget rollups. An activity written since its edit was queued fails
+    // the version check here, or when the UPDATE is flushed if that write commits after the row was read.
+    private void applyDeferredEdits(Map<Long, ActivityDTO> edits) {
+        List<Activity> activities = activityRepository.findAllById(edits.keySet());
+        if (activities.size() != edits.size()) {
             throw new RuntimeException("Activity not found");
         }
+        for (Activity activity : activities) {
+            ActivityDTO changes = edits.get(activity.getId());
+            checkVersion(activity, changes.getVersion());
+            applyChanges(changes, activity);
+        }
+        List<Activity> savedActivities = activityRepository.saveAllAndFlush(activities);
+        checkSchedules(savedActivities);
+        // Edits queued while this batch ran were made against the version it replaces, but meant to follow it
+        for (Activity activity : savedActivities) {
+            Long written = edits.get(activity.getId()).getVersion();
+            Long version = activity.getVersion();
+            AfterCommit.run(() -> deferredEdits.rebase(activity.getId(), written, version));
+        }
+        savedActivities.stream()
+                .map(activity -> activity.getItinerary().getId())
+                .distinct()
+                .forEach(cacheInvalidator::activitiesChanged);
+        itineraryEventBus.activitiesUpdated(savedActivities.stream().map(this::convertToDTO).toList());
+    }
+    
+    // Synchronous writes apply or replace the queued edit of the activity they write, and take it out of the
+    // queue once they commit; a write that rolls back leaves it queued
+    private ActivityDTO supersedeDeferredEdit(Long id) {
+        ActivityDTO queued = deferredEdits.peek(id);
+        if (queued != null) {
+            AfterCommit.run(() -> deferredEdits.remove(id, queued));
+        }
+        return queued;
+    }
+    
+    private void dropDeferredEdit(Long id, RuntimeException cause) {
+        log.warn("Dropped deferred edit of activity {}: {}", id, cause.toString());
+        serviceMetrics.writeBehindEditsDropped(1);
+    }
+    
+    private static void applyChanges(ActivityDTO changes, Activity activity) {
+        if (changes.getName() != null) {
+            activity.setName(changes.getName());
+        }
+        if (changes.getLocation() != null) {
+            activity.setLocation(changes.getLocation());
+        }
+        if (changes.getStartTime() != null) {
+            activity.setStartTime(changes.getStartTime());
+        }
+        if (changes.getDuration() != null) {
+            activity.setDuration(changes.getDuration());
+        }
+        if (changes.getCost() != null) {
+            activity.setCost(changes.getCost());
+        }
+        if (changes.getDate() != null) {
+            activity.setDate(changes.getDate());
+        }
+        if (changes.getLatitude() != null) {
+            activity.setLatitude(changes.getLatitude());
+        }
+        if (changes.getLongitude() != null) {
+            activity.setLongitude(changes.getLongitude());
+        }
+        if (changes.getNotes() != null) {
+            activity.setNotes(changes.getNotes());
+        }
+    }
+    
+    @Transactional
+    public List<ActivityDTO> createActivities(List<ActivityDTO> activityDTOs) {
+        Set<Long> itineraryIds = activityDTOs.stream()
+                .map(ActivityDTO::getItineraryId)
+                .collect(Collectors.toSet());
+        if (itineraryIds.contains(null)) {
+            throw new RuntimeException("Itinerary not found");
+        }
+        Map<Long, Itinerary> itineraries = itineraryRepository.findAllById(itineraryIds).stream()
+                .collect(Collectors.toMap(Itinerary::getId, Function.identity()));
+        if (itineraries.size() != itineraryIds.size()) {
+            throw new RuntimeException("Itinerary not found");
+        }
         
-        Activity activity = existingActivity.get();
-        activity.setName(activityDTO.getName());
-        activity.setLocation(activityDTO.getLocation());
-        activity.setStartTime(activityDTO.getStartTime());
-        activity.setDuration(activityDTO.getDuration());
-        activity.setCost(activityDTO.getCost());
-        activity.setDate(activityDTO.getDate());
-        activity.setLatitude(activityDTO.getLatitude());
-        activity.setLongitude(activityDTO.getLongitude());
-        activity.setNotes(activityDTO.getNotes());
+        List<Activity> activities = new ArrayList<>(activityDTOs.size());
+        for (ActivityDTO activityDTO : activityDTOs) {
+            Activity activity = new Activity();
+            copyToEntity(activityDTO, activity);
+            activity.setItinerary(itineraries.get(activityDTO.getItineraryId()));
+            activities.add(activity);
+        }
         
-        Activity savedActivity = activityRepository.save(activity);
-        return convertToDTO(savedActivity);
+        itineraryIds.forEach(cacheInvalidator::activitiesChanged);
+        List<Activity> savedActivities = activityRepository.saveAll(activities);
+        checkSchedules(savedActivities);
+        BudgetRollupService.Changes budgetChanges = new BudgetRollupService.Changes();
+        savedActivities.forEach(budgetChanges::added);
+        budgetRollupService.apply(budgetChanges);
+        List<ActivityDTO> createdActivities = serviceMetrics.timeConversion(() -> savedActivities.stream()
+                .map(this::convertToDTO)
+                .collect(Collectors.toList()));
+        itineraryEventBus.activitiesCreated(createdActivities);
+        return createdActivities;
     }
     
+    @Transactional
+    public List<ActivityDTO> updateActivities(List<ActivityDTO> activityDTOs) {
+        Map<Long, ActivityDTO> updates = new LinkedHashMap<>();
+        for (ActivityDTO activityDTO : activityDTOs) {
+            if (activityDTO.getId() == null) {
+                throw new RuntimeException("Activity not found");
+            }
+            updates.put(activityDTO.getId(), activityDTO);
+        }
+        
+        List<Activity> activities = activityRepository.findAllById(updates.keySet());
+        if (activities.size() != updates.size()) {
+            throw new RuntimeException("Activity not found");
+        }
+        Set<Long> itineraryIds = new HashSet<>();
+        BudgetRollupService.Changes budgetChanges = new BudgetRollupService.Changes();
+        for (Activity activity : activities) {
+            checkVersion(activity, updates.get(activity.getId()).getVersion());
+            supersedeDeferredEdit(activity.getId());
+            budgetChanges.removed(activity);
+            copyToEntity(updates.get(activity.getId()), activity);
+            budgetChanges.added(activity);
+            itineraryIds.add(activity.getItinerary().getId());
+        }
+        itineraryIds.forEach(cacheInvalidator::activitiesChanged);
+        
+        List<Activity> savedActivities = activityRepository.saveAll(activities);
+        checkSchedules(savedActivities);
+        budgetRollupService.apply(budgetChanges);
+        List<ActivityDTO> updatedActivities = serviceMetrics.timeConversion(() -> savedActivities.stream()
+                .map(this::convertToDTO)
+                .collect(Collectors.toList()));
+        itineraryEventBus.activitiesUpdated(updatedActivities);
+        return updatedActivities;
+    }
+    
+    @Transactional
     public void deleteActivity(Long id) {
-        activityRepository.deleteById(id);
+        supersedeDeferredEdit(id);
+        activityRepository.findById(id).ifPresent(activity -> {
+            cacheInvalidator.activitiesChanged(activity.getItinerary().getId());
+            BudgetRollupService.Changes budgetChanges = new BudgetRollupService.Changes();
+            budgetChanges.removed(activity);
+            itineraryEventBus.activitiesDeleted(List.of(convertToDTO(activity)));
+            activityRepository.delete(activity);
+            budgetRollupService.apply(budgetChanges);
+        });
     }
     
+    @Transactional
+    public void deleteActivities(List<Long> ids) {
+        BudgetRollupService.Changes budgetChanges = new BudgetRollupService.Changes();
+        Set<Long> itineraryIds = new HashSet<>();
+        ids.forEach(this::supersedeDeferredEdit);
+        List<ActivityDTO> deletedActivities = activityRepository.findDTOsByIdIn(ids);
+        for (ActivityDTO activity : deletedActivities) {
+            budgetChanges.removed(activity.getItineraryId(), activity.getDate(), activity.getCost(), activity.getDuration());
+            itineraryIds.add(activity.getItineraryId());
+        }
+        itineraryIds.forEach(cacheInvalidator::activitiesChanged);
+        itineraryEventBus.activitiesDeleted(deletedActivities);
+        activityRepository.deleteAllByIdInBatch(ids);
+        budgetRollupService.apply(budgetChanges);
+    }
+    
+    // Budget reads go to budget_rollups: one primary-key range scan over the itinerary's days, however many
+    // activities those days hold
+    @Cacheable(cacheNames = CacheConfig.BUDGET_TOTALS)
     public BigDecimal getTotalCostForItinerary(Long itineraryId) {
-        List<Activity> activities = activityRepository.findByItineraryId(itineraryId);
-        return activities.stream()
-                .map(Activity::getCost)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        BigDecimal totalCost = budgetRollupRepository.sumCostByItineraryId(itineraryId);
+        return totalCost != null ? totalCost : BigDecimal.ZERO;
+    }
+    
+    @Cacheable(cacheNames = CacheConfig.DAILY_BUDGETS)
+    public Map<LocalDate, BigDecimal> getDailyCostsForItinerary(Long itineraryId) {
+        Map<LocalDate, BigDecimal> dailyCosts = new LinkedHashMap<>();
+        for (DailyBudgetDTO day : budgetRollupRepository.findDailyByItineraryId(itineraryId)) {
+            dailyCosts.put(day.getDate(), day.getTotalCost());
+        }
+        return dailyCosts;
+    }
+    
+    @Cacheable(cacheNames = CacheConfig.BUDGET_SUMMARIES)
+    public BudgetSummaryDTO getBudgetSummaryForItinerary(Long itineraryId) {
+        List<DailyBudgetDTO> daily = budgetRollupRepository.findDailyByItineraryId(itineraryId);
+        BudgetTotals trip = new BudgetTotals();
+        for (DailyBudgetDTO day : daily) {
+            trip.add(day);
+        }
+        return trip.toSummary(itineraryId, daily);
+    }
+    
+    // Same figures as getBudgetSummaryForItinerary, folded from activities already in memory
+    // (ordered by date) instead of two more aggregate queries
+    BudgetSummaryDTO summarizeBudget(Long itineraryId, List<ActivityDTO> activities) {
+        List<DailyBudgetDTO> daily = new ArrayList<>();
+        BudgetTotals trip = new BudgetTotals();
+        BudgetTotals day = new BudgetTotals();
+        LocalDate date = null;
+        for (ActivityDTO activity : activities) {
+            if (date != null && !date.equals(activity.getDate())) {
+                daily.add(day.toDaily(date));
+                day = new BudgetTotals();
+            }
+            date = activity.getDate();
+            long cost = Money.toMinorUnits(activity.getCost());
+            day.add(cost, activity.getDuration());
+            trip.add(cost, activity.getDuration());
+        }
+        if (date != null) {
+            daily.add(day.toDaily(date));
+        }
+        return trip.toSummary(itineraryId, daily);
     }
     
     public List<ActivityDTO> getActivitiesByItineraryIdAndDate(Long itineraryId, LocalDate date) {
-        List<Activity> activities = activityRepository.findByItineraryIdAndDateOrderByStartTime(itineraryId, date);
-        return activities.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return serviceMetrics.rowsReturned("activities.byItineraryAndDate",
+                activityRepository.findDTOsByItineraryIdAndDate(itineraryId, date));
+    }
+    
+    // One validation pass per itinerary touched by a bulk write
+    private void checkSchedules(List<Activity> written) {
+        Map<Long, Set<Long>> idsByItinerary = written.stream()
+                .collect(Collectors.groupingBy(activity -> activity.getItinerary().getId(),
+                        Collectors.mapping(Activity::getId, Collectors.toSet())));
+        idsByItinerary.forEach(scheduleValidationService::checkWrite);
+    }
+    
+    private void checkVersion(Activity activity, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(activity.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(Activity.class, activity.getId());
+        }
+    }
+    
+    private void copyToEntity(ActivityDTO activityDTO, Activity activity) {
+        activity.setName(activityDTO.getName());
+        activity.setLocation(activityDTO.getLocation());
+        activity.setStartTime(activityDTO.getStartTime());
+        activity.setDuration(activityDTO.getDuration());
+        activity.setCost(activityDTO.getCost());
+        activity.setDate(activityDTO.getDate());
+        activity.setLatitude(activityDTO.getLatitude());
+        activity.setLongitude(activityDTO.getLongitude());
+        activity.setNotes(activityDTO.getNotes());
     }
     
-    private ActivityDTO convertToDTO(Activity activity) {
+    ActivityDTO convertToDTO(Activity activity) {
         ActivityDTO dto = new ActivityDTO();
         dto.setId(activity.getId());
         dto.setName(activity.getName());
@@ -108,6 +533,7 @@ public class ActivityService {
         dto.setLongitude(activity.getLongitude());
         dto.setNotes(activity.getNotes());
         dto.setItineraryId(activity.getItinerary().getId());
+        dto.setVersion(activity.getVersion());
         return dto;
     }
 }
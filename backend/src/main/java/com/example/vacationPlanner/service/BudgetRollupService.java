@@ -0,0 +1,167 @@
+package com.example.vacationPlanner.service;
+
+import com.example.vacationPlanner.model.Activity;
+import com.example.vacationPlanner.model.BudgetRollup;
+import com.example.vacationPlanner.model.BudgetRollupDelta;
+import com.example.vacationPlanner.repository.ActivityRepository;
+import com.example.vacationPlanner.repository.BudgetRollupRepository;
+import com.example.vacationPlanner.repository.ItineraryRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+
+// Keeps budget_rollups in step with the activities: writers collect their changes in a Changes and apply them
+// before commit, and a scheduled pass re-aggregates the activities and repairs rows that have drifted
+// (writes that bypassed ActivityService, manual SQL, bugs).
+@Service
+public class BudgetRollupService {
+    
+    private static final Logger log = LoggerFactory.getLogger(BudgetRollupService.class);
+    
+    @Autowired
+    private BudgetRollupRepository budgetRollupRepository;
+    
+    @Autowired
+    private ActivityRepository activityRepository;
+    
+    @Autowired
+    private ItineraryRepository itineraryRepository;
+    
+    @Autowired
+    private CacheInvalidator cacheInvalidator;
+    
+    @Autowired
+    private ServiceMetrics serviceMetrics;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Value("${budget.reconcile.batch-size:500}")
+    private int reconcileBatchSize;
+    
+    private TransactionTemplate transactionTemplate;
+    
+    @PostConstruct
+    void initTransactionTemplate() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+    
+    public void apply(Changes changes) {
+        budgetRollupRepository.applyDeltas(changes.deltas.values());
+    }
+    
+    // Each batch of itineraries is checked in its own transaction
+    @Scheduled(initialDelayString = "${budget.reconcile.initial-delay:PT1M}",
+            fixedDelayString = "${budget.reconcile.interval:PT15M}")
+    public void reconcileAll() {
+        long repaired = 0;
+        Long afterId = 0L;
+        while (true) {
+            Long from = afterId;
+            List<Long> itineraryIds = itineraryRepository.findIdsAfter(from, Limit.of(reconcileBatchSize));
+            if (itineraryIds.isEmpty()) {
+                break;
+            }
+            repaired += transactionTemplate.execute(status -> reconcile(itineraryIds));
+            afterId = itineraryIds.get(itineraryIds.size() - 1);
+        }
+        if (repaired > 0) {
+            log.warn("Repaired {} budget rollup rows", repaired);
+        }
+    }
+    
+    // Locks the stored rows before re-aggregating, so writers still holding them commit first and their
+    // activities are counted. Returns the number of rows rewritten.
+    @Transactional
+    public int reconcile(Collection<Long> itineraryIds) {
+        Map<BudgetRollup.Key, BudgetRollup> stored = new HashMap<>();
+        for (BudgetRollup rollup : budgetRollupRepository.lockByItineraryIdIn(itineraryIds)) {
+            stored.put(new BudgetRollup.Key(rollup.getItineraryId(), rollup.getDate()), rollup);
+        }
+        
+        int repaired = 0;
+        Set<Long> repairedItineraries = new HashSet<>();
+        for (BudgetRollup actual : activityRepository.summarizeRollupsByItineraryIdIn(itineraryIds)) {
+            BudgetRollup rollup = stored.remove(new BudgetRollup.Key(actual.getItineraryId(), actual.getDate()));
+            if (rollup != null && matches(rollup, actual)) {
+                continue;
+            }
+            budgetRollupRepository.save(actual);
+            repairedItineraries.add(actual.getItineraryId());
+            repaired++;
+        }
+        // Left over: days without activities; emptied rows (count 0) are expected, anything else is stale
+        for (BudgetRollup rollup : stored.values()) {
+            if (rollup.getActivityCount() != 0) {
+                budgetRollupRepository.delete(rollup);
+                repairedItineraries.add(rollup.getItineraryId());
+                repaired++;
+            }
+        }
+        
+        repairedItineraries.forEach(cacheInvalidator::activitiesChanged);
+        serviceMetrics.budgetRollupsRepaired(repaired);
+        return repaired;
+    }
+    
+    private static boolean matches(BudgetRollup stored, BudgetRollup actual) {
+        return stored.getTotalCost().compareTo(actual.getTotalCost()) == 0
+                && stored.getActivityCount().equals(actual.getActivityCount())
+                && stored.getTotalDuration().equals(actual.getTotalDuration())
+                && sameCost(stored.getMinCost(), actual.getMinCost())
+                && sameCost(stored.getMaxCost(), actual.getMaxCost());
+    }
+    
+    private static boolean sameCost(BigDecimal a, BigDecimal b) {
+        return a == null ? b == null : b != null && a.compareTo(b) == 0;
+    }
+    
+    // Rollup changes of one write, merged per itinerary day. Kept in key order so concurrent writers lock
+    // the rows in the same order and cannot deadlock each other.
+    public static final class Changes {
+        
+        private final Map<BudgetRollup.Key, BudgetRollupDelta> deltas = new TreeMap<>(
+                Comparator.comparing(BudgetRollup.Key::getItineraryId).thenComparing(BudgetRollup.Key::getDate));
+        
+        public void added(Activity activity) {
+            added(activity.getItinerary().getId(), activity.getDate(), activity.getCost(), activity.getDuration());
+        }
+        
+        public void added(Long itineraryId, LocalDate date, BigDecimal cost, Integer duration) {
+            delta(itineraryId, date).add(cost, duration);
+        }
+        
+        // Call before the activity is changed, with the values the rollup currently counts
+        public void removed(Activity activity) {
+            removed(activity.getItinerary().getId(), activity.getDate(), activity.getCost(), activity.getDuration());
+        }
+        
+        public void removed(Long itineraryId, LocalDate date, BigDecimal cost, Integer duration) {
+            delta(itineraryId, date).remove(cost, duration);
+        }
+        
+        private BudgetRollupDelta delta(Long itineraryId, LocalDate date) {
+            return deltas.computeIfAbsent(new BudgetRollup.Key(itineraryId, date),
+                    key -> new BudgetRollupDelta(Objects.requireNonNull(itineraryId), date));
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.vacationPlanner.service;
+
+import com.example.vacationPlanner.model.Money;
+import com.example.vacationPlanner.model.dto.BudgetSummaryDTO;
+import com.example.vacationPlanner.model.dto.DailyBudgetDTO;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+// Running budget figures for one day or a whole trip. Costs are kept in cents, so adding an activity is long
+// arithmetic instead of a new BigDecimal per sum, min and max; the DTOs get BigDecimals once, at the end.
+final class BudgetTotals {
+
+    private long cost;
+    private long minCost = Long.MAX_VALUE;
+    private long maxCost = Long.MIN_VALUE;
+    private long count;
+    private long duration;
+
+    void add(long activityCost, long activityDuration) {
+        cost = Math.addExact(cost, activityCost);
+        minCost = Math.min(minCost, activityCost);
+        maxCost = Math.max(maxCost, activityCost);
+        count++;
+        duration += activityDuration;
+    }
+
+    // Folds in a whole day of budget_rollups. A drifted row can have activities but no min/max until the reconciler
+    // repairs it, so those are skipped rather than unboxed.
+    void add(DailyBudgetDTO day) {
+        cost = Math.addExact(cost, Money.toMinorUnits(day.getTotalCost()));
+        if (day.getMinCost() != null) {
+            minCost = Math.min(minCost, Money.toMinorUnits(day.getMinCost()));
+        }
+        if (day.getMaxCost() != null) {
+            maxCost = Math.max(maxCost, Money.toMinorUnits(day.getMaxCost()));
+        }
+        count += day.getActivityCount();
+        duration += day.getTotalDuration();
+    }
+
+    DailyBudgetDTO toDaily(LocalDate date) {
+        return new DailyBudgetDTO(date, totalCost(), minCost(), maxCost(), count, duration);
+    }
+
+    BudgetSummaryDTO toSummary(Long itineraryId, List<DailyBudgetDTO> daily) {
+        BudgetSummaryDTO summary = new BudgetSummaryDTO(totalCost(), minCost(), maxCost(), count, duration);
+        summary.setItineraryId(itineraryId);
+        summary.setDaily(daily);
+        return summary;
+    }
+
+    // With nothing added the total stays a plain 0 and min/max stay null, as they were in the JSON before
+    private BigDecimal totalCost() {
+        return count == 0 ? BigDecimal.ZERO : Money.fromMinorUnits(cost);
+    }
+
+    private BigDecimal minCost() {
+        return minCost == Long.MAX_VALUE ? null : Money.fromMinorUnits(minCost);
+    }
+
+    private BigDecimal maxCost() {
+        return maxCost == Long.MIN_VALUE ? null : Money.fromMinorUnits(maxCost);
+    }
+}
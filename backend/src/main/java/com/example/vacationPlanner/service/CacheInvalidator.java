@@ -0,0 +1,89 @@
+package com.example.vacationPlanner.service;
+
+import com.example.vacationPlanner.config.CacheConfig;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+public class CacheInvalidator {
+
+    // Versions back the ETags of cached responses. Each change takes a fresh value from a node-wide counter,
+    // and the boot epoch is part of the tag, so a tag is never reused for different content.
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong versionCounter = new AtomicLong();
+    private final Cache<String, Long> versions = Caffeine.newBuilder()
+            .maximumSize(100_000)
+            .build();
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    // Evicting before commit would let a concurrent reader cache the old rows again; a reader that missed before the
+    // commit and puts after the eviction is turned away by EvictionGuardedCache
+    public void activitiesChanged(Long itineraryId) {
+        AfterCommit.run(() -> {
+            evict(CacheConfig.ACTIVITIES_BY_ITINERARY, itineraryId);
+            evict(CacheConfig.BUDGET_TOTALS, itineraryId);
+            evict(CacheConfig.DAILY_BUDGETS, itineraryId);
+            evict(CacheConfig.BUDGET_SUMMARIES, itineraryId);
+            evict(CacheConfig.ITINERARY_SNAPSHOTS, itineraryId);
+            bump(activitiesKey(itineraryId));
+            bump(snapshotKey(itineraryId));
+        });
+    }
+
+    public void itineraryChanged(Long itineraryId, Long userId) {
+        AfterCommit.run(() -> {
+            evict(CacheConfig.ITINERARIES_BY_ID, itineraryId);
+            evict(CacheConfig.ITINERARIES_BY_USER, userId);
+            evict(CacheConfig.ITINERARY_SNAPSHOTS, itineraryId);
+            bump(userKey(userId));
+            bump(snapshotKey(itineraryId));
+        });
+    }
+
+    // Read the ETag before loading the data: a concurrent change then costs a spare 200, never a stale 304
+    public String activitiesETag(Long itineraryId) {
+        return eTag(activitiesKey(itineraryId));
+    }
+
+    public String userItinerariesETag(Long userId) {
+        return eTag(userKey(userId));
+    }
+
+    // Changes to either the itinerary or its activities
+    public String snapshotETag(Long itineraryId) {
+        return eTag(snapshotKey(itineraryId));
+    }
+
+    private String eTag(String key) {
+        return epoch + "-" + versions.get(key, k -> versionCounter.incrementAndGet());
+    }
+
+    private void bump(String key) {
+        versions.put(key, versionCounter.incrementAndGet());
+    }
+
+    private void evict(String cacheName, Object key) {
+        org.springframework.cache.Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null && key != null) {
+            cache.evict(key);
+        }
+    }
+
+    private static String activitiesKey(Long itineraryId) {
+        return "activities:" + itineraryId;
+    }
+
+    private static String snapshotKey(Long itineraryId) {
+        return "snapshot:" + itineraryId;
+    }
+
+    private static String userKey(Long userId) {
+        return "user:" + userId;
+    }
+}
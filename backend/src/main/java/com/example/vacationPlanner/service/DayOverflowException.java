@@ -0,0 +1,9 @@
+package com.example.vacationPlanner.service;
+
+// Thrown when an optimized day would start an activity after midnight, which its date cannot hold
+public class DayOverflowException extends RuntimeException {
+
+    public DayOverflowException() {
+        super("Optimized schedule runs past midnight");
+    }
+}
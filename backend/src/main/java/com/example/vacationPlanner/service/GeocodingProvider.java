@@ -0,0 +1,13 @@
+package com.example.vacationPlanner.service;
+
+import com.example.vacationPlanner.model.dto.GeocodeResultDTO;
+import java.util.Optional;
+
+// Upstream geocoder behind GeocodingService, picked with geocoding.provider (nominatim or stub).
+// Implementations are called at most once per cache key and only after the rate limiter allows it.
+public interface GeocodingProvider {
+
+    Optional<GeocodeResultDTO> search(String query);
+
+    Optional<GeocodeResultDTO> reverse(double latitude, double longitude);
+}
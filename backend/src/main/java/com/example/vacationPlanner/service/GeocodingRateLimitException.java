@@ -0,0 +1,9 @@
+package com.example.vacationPlanner.service;
+
+// Thrown when an uncached lookup cannot get an upstream permit within geocoding.rate-limit.max-wait
+public class GeocodingRateLimitException extends RuntimeException {
+
+    public GeocodingRateLimitException() {
+        super("Geocoding rate limit exceeded");
+    }
+}
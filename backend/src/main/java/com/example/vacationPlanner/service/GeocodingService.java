@@ -0,0 +1,196 @@
+package com.example.vacationPlanner.service;
+
+import com.example.vacationPlanner.model.GeocodeCacheEntry;
+import com.example.vacationPlanner.model.dto.GeocodeResultDTO;
+import com.example.vacationPlanner.repository.GeocodeCacheRepository;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import java.text.Normalizer;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+// Forward and reverse geocoding shared by all users. Lookups go memory -> geocode_cache table -> provider,
+// and a provider answer is stored in both tiers, so each place is resolved once. "Not found" is stored too, but
+// only for geocoding.cache.negative-ttl in either tier, so a place the provider learns about later is not missing
+// for good.
+@Service
+public class GeocodingService {
+
+    private static final int MAX_QUERY_LENGTH = 255;
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    @Autowired
+    private GeocodingProvider geocodingProvider;
+
+    @Autowired
+    private GeocodeCacheRepository geocodeCacheRepository;
+
+    @Autowired
+    private ServiceMetrics serviceMetrics;
+
+    @Value("${geocoding.cache.max-entries:10000}")
+    private int cacheMaxEntries;
+
+    @Value("${geocoding.cache.negative-ttl:24h}")
+    private Duration negativeTtl;
+
+    // Reverse lookups are snapped to a grid of 1/scale degrees (10_000 ~ 11 m) and resolved at the cell centre
+    @Value("${geocoding.reverse-quantization-scale:10000}")
+    private int quantizationScale;
+
+    // Nominatim's usage policy allows one request per second
+    @Value("${geocoding.rate-limit.permits-per-second:1}")
+    private double permitsPerSecond;
+
+    @Value("${geocoding.rate-limit.burst:1}")
+    private int burst;
+
+    @Value("${geocoding.rate-limit.max-wait:2s}")
+    private Duration maxWait;
+
+    // Holding futures lets concurrent callers for the same key wait on one lookup instead of each going upstream
+    private AsyncCache<String, Optional<GeocodeResultDTO>> cache;
+    private TokenBucket rateLimiter;
+
+    @PostConstruct
+    void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(cacheMaxEntries)
+                .expireAfter(new NegativeExpiry(negativeTtl))
+                .buildAsync();
+        rateLimiter = new TokenBucket(permitsPerSecond, burst);
+    }
+
+    public Optional<GeocodeResultDTO> search(String query) {
+        String normalized = normalize(query);
+        if (normalized.isEmpty() || normalized.length() > MAX_QUERY_LENGTH) {
+            throw new IllegalArgumentException("Invalid geocoding query");
+        }
+        return lookup("search:" + normalized, () -> geocodingProvider.search(normalized));
+    }
+
+    public Optional<GeocodeResultDTO> reverse(double latitude, double longitude) {
+        if (latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180) {
+            throw new IllegalArgumentException("Coordinates out of range");
+        }
+        int latCell = (int) Math.round(latitude * quantizationScale);
+        int lngCell = (int) Math.round(longitude * quantizationScale);
+        return lookup("reverse:" + latCell + "," + lngCell, () -> geocodingProvider.reverse(
+                (double) latCell / quantizationScale, (double) lngCell / quantizationScale));
+    }
+
+    private Optional<GeocodeResultDTO> lookup(String key, Supplier<Optional<GeocodeResultDTO>> upstream) {
+        CompletableFuture<Optional<GeocodeResultDTO>> pending = new CompletableFuture<>();
+        CompletableFuture<Optional<GeocodeResultDTO>> existing = cache.asMap().putIfAbsent(key, pending);
+        if (existing != null) {
+            serviceMetrics.geocodingLookup("memory");
+            return join(existing);
+        }
+        // The load runs on the calling thread, outside any map lock; failures are not cached
+        try {
+            pending.complete(load(key, upstream));
+        } catch (RuntimeException e) {
+            cache.asMap().remove(key, pending);
+            pending.completeExceptionally(e);
+        }
+        return join(pending);
+    }
+
+    private Optional<GeocodeResultDTO> load(String key, Supplier<Optional<GeocodeResultDTO>> upstream) {
+        Optional<GeocodeCacheEntry> stored = geocodeCacheRepository.findById(key)
+                .filter(entry -> toResult(entry).isPresent()
+                        || entry.getResolvedAt().isAfter(LocalDateTime.now().minus(negativeTtl)));
+        if (stored.isPresent()) {
+            serviceMetrics.geocodingLookup("table");
+            return toResult(stored.get());
+        }
+        
+        acquirePermit();
+        serviceMetrics.geocodingLookup("provider");
+        Optional<GeocodeResultDTO> result = upstream.get();
+        GeocodeCacheEntry entry = new GeocodeCacheEntry(key,
+                result.map(GeocodeResultDTO::getDisplayName).orElse(null),
+                result.map(GeocodeResultDTO::getLatitude).orElse(null),
+                result.map(GeocodeResultDTO::getLongitude).orElse(null),
+                LocalDateTime.now());
+        try {
+            // The key is assigned, so save merges and an expired miss is overwritten in place
+            geocodeCacheRepository.save(entry);
+        } catch (DataIntegrityViolationException e) {
+            // Another instance stored the same key first; its answer is equivalent
+        }
+        return result;
+    }
+
+    private void acquirePermit() {
+        try {
+            if (!rateLimiter.tryAcquire(maxWait)) {
+                throw new GeocodingRateLimitException();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new GeocodingRateLimitException();
+        }
+    }
+
+    private static Optional<GeocodeResultDTO> join(CompletableFuture<Optional<GeocodeResultDTO>> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    // Found places never expire; misses expire negativeTtl after the lookup completes. A lookup still in flight is
+    // not timed by Caffeine, so the clock starts when the answer arrives.
+    private record NegativeExpiry(Duration negativeTtl) implements Expiry<String, Optional<GeocodeResultDTO>> {
+
+        @Override
+        public long expireAfterCreate(String key, Optional<GeocodeResultDTO> value, long currentTime) {
+            return value.isPresent() ? Long.MAX_VALUE : negativeTtl.toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Optional<GeocodeResultDTO> value, long currentTime,
+                                      long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Optional<GeocodeResultDTO> value, long currentTime,
+                                    long currentDuration) {
+            return currentDuration;
+        }
+    }
+
+    private static Optional<GeocodeResultDTO> toResult(GeocodeCacheEntry entry) {
+        if (entry.getLatitude() == null || entry.getLongitude() == null) {
+            return Optional.empty();
+        }
+        return Optional.of(new GeocodeResultDTO(entry.getDisplayName(), entry.getLatitude(), entry.getLongitude()));
+    }
+
+    // "  Piazza   Navona, ROME " and "piazza navona, rome" share one cache entry
+    private static String normalize(String query) {
+        if (query == null) {
+            return "";
+        }
+        String normalized = Normalizer.normalize(query, Normalizer.Form.NFKC).trim().toLowerCase(Locale.ROOT);
+        return WHITESPACE.matcher(normalized).replaceAll(" ");
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.vacationPlanner.service;
+
+import com.example.vacationPlanner.model.dto.ActivityDTO;
+import com.example.vacationPlanner.model.dto.ActivityEventDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+// In-process fan-out of activity changes to the /api/itineraries/{id}/events streams. Every watched itinerary has
+// one multicast sink shared by all its streams, so a change costs one lookup and one emit however many streams are
+// open, and changes to itineraries nobody watches cost a map miss. Events go out after commit, so a stream never
+// shows a write that was rolled back.
+@Component
+public class ItineraryEventBus {
+
+    private final ConcurrentHashMap<Long, Topic> topics = new ConcurrentHashMap<>();
+
+    // Events a stream may fall behind by before it is closed; EventSource reconnects and the page reloads
+    @Value("${itinerary.events.buffer-size:256}")
+    private int bufferSize;
+
+    // Comment lines on idle streams, so proxies and load balancers do not time them out
+    @Value("${itinerary.events.heartbeat:PT30S}")
+    private Duration heartbeat;
+
+    public Flux<ServerSentEvent<ActivityEventDTO>> stream(Long itineraryId) {
+        Flux<ServerSentEvent<ActivityEventDTO>> events = subscribe(itineraryId)
+                .map(event -> ServerSentEvent.builder(event).event(event.getType().name()).build());
+        Flux<ServerSentEvent<ActivityEventDTO>> heartbeats = Flux.interval(heartbeat)
+                .map(tick -> ServerSentEvent.<ActivityEventDTO>builder().comment("heartbeat").build());
+        return Flux.merge(events, heartbeats)
+                .takeUntil(sse -> sse.data() != null
+                        && sse.data().getType() == ActivityEventDTO.Type.ITINERARY_DELETED);
+    }
+
+    Flux<ActivityEventDTO> subscribe(Long itineraryId) {
+        return Flux.defer(() -> {
+            Topic topic = topics.compute(itineraryId, (id, current) -> {
+                Topic joined = current != null ? current : new Topic();
+                joined.subscribers++;
+                return joined;
+            });
+            return topic.sink.asFlux()
+                    .onBackpressureBuffer(bufferSize)
+                    .doFinally(signal -> leave(itineraryId, topic));
+        });
+    }
+
+    public void activitiesCreated(List<ActivityDTO> activities) {
+        publish(activities, ActivityEventDTO.Type.CREATED);
+    }
+
+    public void activitiesUpdated(List<ActivityDTO> activities) {
+        publish(activities, ActivityEventDTO.Type.UPDATED);
+    }
+
+    // Deleted activities only need their id and itinerary
+    public void activitiesDeleted(List<ActivityDTO> activities) {
+        AfterCommit.run(() -> {
+            for (ActivityDTO activity : activities) {
+                emit(activity.getItineraryId(), new ActivityEventDTO(ActivityEventDTO.Type.DELETED,
+                        activity.getItineraryId(), activity.getId(), null));
+            }
+        });
+    }
+
+    // Ends the itinerary's streams after telling them why
+    public void itineraryDeleted(Long itineraryId) {
+        AfterCommit.run(() -> {
+            Topic topic = topics.remove(itineraryId);
+            if (topic != null) {
+                topic.emit(new ActivityEventDTO(ActivityEventDTO.Type.ITINERARY_DELETED, itineraryId, null, null));
+                topic.lock.lock();
+                try {
+                    topic.sink.tryEmitComplete();
+                } finally {
+                    topic.lock.unlock();
+                }
+            }
+        });
+    }
+
+    int subscriberCount(Long itineraryId) {
+        Topic topic = topics.get(itineraryId);
+        return topic != null ? topic.sink.currentSubscriberCount() : 0;
+    }
+
+    private void publish(List<ActivityDTO> activities, ActivityEventDTO.Type type) {
+        AfterCommit.run(() -> {
+            for (ActivityDTO activity : activities) {
+                emit(activity.getItineraryId(),
+                        new ActivityEventDTO(type, activity.getItineraryId(), activity.getId(), activity));
+            }
+        });
+    }
+
+    private void emit(Long itineraryId, ActivityEventDTO event) {
+        Topic topic = topics.get(itineraryId);
+        if (topic != null) {
+            topic.emit(event);
+        }
+    }
+
+    // The last stream to leave removes the topic; the count only changes inside compute, so a stream joining at
+    // the same moment either keeps the topic alive or gets a new one
+    private void leave(Long itineraryId, Topic topic) {
+        topics.computeIfPresent(itineraryId, (id, current) ->
+                current == topic && --current.subscribers == 0 ? null : current);
+    }
+
+    // directBestEffort never blocks the writer on a slow stream: each stream buffers on its own side
+    // (onBackpressureBuffer above), and one whose buffer overflows is cut off from the sink and ends with an
+    // overflow error once it has sent what it buffered. Sinks need serialized emits, hence the lock.
+    private static final class Topic {
+
+        private final Sinks.Many<ActivityEventDTO> sink = Sinks.many().multicast().directBestEffort();
+        private final ReentrantLock lock = new ReentrantLock();
+        private int subscribers;
+
+        void emit(ActivityEventDTO event) {
+            lock.lock();
+            try {
+                sink.tryEmitNext(event);
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -1,45 +1,128 @@
 package com.example.vacationPlanner.service;
 
+import com.example.vacationPlanner.config.CacheConfig;
 import com.example.vacationPlanner.model.Itinerary;
-import com.example.vacationPlanner.model.User;
+import com.example.vacationPlanner.model.dto.ActivityDTO;
+import com.example.vacationPlanner.model.dto.CursorPageDTO;
 import com.example.vacationPlanner.model.dto.ItineraryDTO;
+import com.example.vacationPlanner.model.dto.ItineraryDayDTO;
+import com.example.vacationPlanner.model.dto.ItinerarySnapshotDTO;
+import com.example.vacationPlanner.model.dto.TravelGapDTO;
 import com.example.vacationPlanner.repository.ItineraryRepository;
 import com.example.vacationPlanner.repository.UserRepository;
 import com.example.vacationPlanner.repository.ActivityRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 public class ItineraryService {
     
+    private static final int MAX_PAGE_SIZE = 1000;
+    
     @Autowired
     private ItineraryRepository itineraryRepository;
     
     @Autowired
     private UserRepository userRepository;
     
+    @Autowired
+    private UserService userService;
+    
+    @Autowired
+    private CacheInvalidator cacheInvalidator;
+    
+    @Autowired
+    private ItineraryEventBus itineraryEventBus;
+    
     @Autowired
     private ActivityRepository activityRepository;
     
+    @Autowired
+    private ActivityService activityService;
+    
+    @Autowired
+    private TravelTimeService travelTimeService;
+    
+    @Autowired
+    private ServiceMetrics serviceMetrics;
+    
+    @Cacheable(cacheNames = CacheConfig.ITINERARIES_BY_USER)
     public List<ItineraryDTO> getItinerariesByUserId(Long userId) {
-        List<Itinerary> itineraries = itineraryRepository.findByUserId(userId);
-        return itineraries.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return serviceMetrics.rowsReturned("itineraries.byUser", itineraryRepository.findDTOsByUserId(userId));
+    }
+    
+    @Transactional(readOnly = true)
+    public CursorPageDTO<ItineraryDTO> getItineraryPage(Long userId, String cursor, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        Limit fetchLimit = Limit.of(pageSize + 1);
+        
+        List<ItineraryDTO> itineraries;
+        if (cursor == null || cursor.isEmpty()) {
+            itineraries = itineraryRepository.findDTOPageByUserId(userId, fetchLimit);
+        } else {
+            String[] keys = KeysetCursor.decode(cursor, 2);
+            itineraries = itineraryRepository.findDTOPageByUserIdAfter(userId,
+                    LocalDate.parse(keys[0]), Long.valueOf(keys[1]), fetchLimit);
+        }
+        serviceMetrics.rowsReturned("itineraries.page", itineraries);
+        
+        String nextCursor = null;
+        if (itineraries.size() > pageSize) {
+            itineraries = itineraries.subList(0, pageSize);
+            ItineraryDTO last = itineraries.get(pageSize - 1);
+            nextCursor = KeysetCursor.encode(last.getStartDate(), last.getId());
+        }
+        return new CursorPageDTO<>(itineraries, nextCursor);
+    }
+    
+    @Transactional(readOnly = true)
+    public void streamItinerariesByUserId(Long userId, Consumer<ItineraryDTO> consumer) {
+        try (Stream<ItineraryDTO> itineraries = itineraryRepository.streamDTOsByUserId(userId)) {
+            itineraries.forEach(serviceMetrics.countingRows("itineraries.stream", consumer));
+        }
     }
     
+    @Cacheable(cacheNames = CacheConfig.ITINERARIES_BY_ID, unless = "#result == null")
     public Optional<ItineraryDTO> getItineraryById(Long id) {
-        return itineraryRepository.findById(id)
-                .map(this::convertToDTO);
+        return itineraryRepository.findDTOById(id);
+    }
+    
+    // Everything the activities page needs in one response, from two queries: the itinerary and its
+    // activities in (date, start time) order. Budgets and per-day travel gaps are derived from those rows.
+    @Cacheable(cacheNames = CacheConfig.ITINERARY_SNAPSHOTS, unless = "#result == null")
+    @Transactional(readOnly = true)
+    public Optional<ItinerarySnapshotDTO> getItinerarySnapshot(Long id) {
+        Optional<ItineraryDTO> itinerary = itineraryRepository.findDTOById(id);
+        if (itinerary.isEmpty()) {
+            return Optional.empty();
+        }
+        List<ActivityDTO> activities = serviceMetrics.rowsReturned("activities.snapshot",
+                activityRepository.findOrderedDTOsByItineraryId(id));
+        
+        List<ItineraryDayDTO> days = new ArrayList<>();
+        int dayStart = 0;
+        for (int i = 1; i <= activities.size(); i++) {
+            if (i == activities.size() || !activities.get(i).getDate().equals(activities.get(dayStart).getDate())) {
+                days.add(toDay(activities.subList(dayStart, i)));
+                dayStart = i;
+            }
+        }
+        return Optional.of(new ItinerarySnapshotDTO(itinerary.get(), activities,
+                activityService.summarizeBudget(id, activities), days));
     }
     
     public ItineraryDTO createItinerary(ItineraryDTO itineraryDTO) {
-        Optional<User> user = userRepository.findById(itineraryDTO.getUserId());
-        if (user.isEmpty()) {
+        if (itineraryDTO.getUserId() == null || userService.getUserById(itineraryDTO.getUserId()).isEmpty()) {
             throw new RuntimeException("User not found");
         }
         
@@ -49,45 +132,117 @@ public class ItineraryService {
         itinerary.setStartDate(itineraryDTO.getStartDate());
         itinerary.setEndDate(itineraryDTO.getEndDate());
         itinerary.setNotes(itineraryDTO.getNotes());
-        itinerary.setUser(user.get());
+        itinerary.setUser(userRepository.getReferenceById(itineraryDTO.getUserId()));
         
         Itinerary savedItinerary = itineraryRepository.save(itinerary);
-        return convertToDTO(savedItinerary);
+        cacheInvalidator.itineraryChanged(savedItinerary.getId(), itineraryDTO.getUserId());
+        return serviceMetrics.timeConversion(() -> convertToDTO(savedItinerary));
     }
     
-    public ItineraryDTO updateItinerary(Long id, ItineraryDTO itineraryDTO) {
-        Optional<Itinerary> existingItinerary = itineraryRepository.findById(id);
-        if (existingItinerary.isEmpty()) {
-            throw new RuntimeException("Itinerary not found");
-        }
-        
-        Itinerary itinerary = existingItinerary.get();
+    // expectedVersion comes from If-Match; without it the version in the body (if any) is checked
+    @Transactional
+    public ItineraryDTO updateItinerary(Long id, ItineraryDTO itineraryDTO, Long expectedVersion) {
+        Itinerary itinerary = itineraryRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Itinerary not found"));
+        checkVersion(itinerary, expectedVersion != null ? expectedVersion : itineraryDTO.getVersion());
         itinerary.setName(itineraryDTO.getName());
         itinerary.setLocation(itineraryDTO.getLocation());
         itinerary.setStartDate(itineraryDTO.getStartDate());
         itinerary.setEndDate(itineraryDTO.getEndDate());
         itinerary.setNotes(itineraryDTO.getNotes());
         
-        Itinerary savedItinerary = itineraryRepository.save(itinerary);
-        return convertToDTO(savedItinerary);
+        Itinerary savedItinerary = itineraryRepository.saveAndFlush(itinerary);
+        cacheInvalidator.itineraryChanged(id, itinerary.getUser().getId());
+        return serviceMetrics.timeConversion(() -> convertToDTO(savedItinerary));
     }
     
+    // Applies only the non-null fields; with @DynamicUpdate the UPDATE lists just the columns that changed
     @Transactional
-    public void deleteItinerary(Long id) {
-        // Check if itinerary exists before attempting deletion
-        if (!itineraryRepository.existsById(id)) {
-            throw new RuntimeException("Itinerary not found with id: " + id);
+    public ItineraryDTO patchItinerary(Long id, ItineraryDTO changes, Long expectedVersion) {
+        Itinerary itinerary = itineraryRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Itinerary not found"));
+        checkVersion(itinerary, expectedVersion != null ? expectedVersion : changes.getVersion());
+        if (changes.getName() != null) {
+            itinerary.setName(changes.getName());
+        }
+        if (changes.getLocation() != null) {
+            itinerary.setLocation(changes.getLocation());
+        }
+        if (changes.getStartDate() != null) {
+            itinerary.setStartDate(changes.getStartDate());
+        }
+        if (changes.getEndDate() != null) {
+            itinerary.setEndDate(changes.getEndDate());
+        }
+        if (changes.getNotes() != null) {
+            itinerary.setNotes(changes.getNotes());
         }
         
-        System.out.println("Deleting all activities for itinerary ID: " + id);
-        // First, delete all activities associated with this itinerary
-        activityRepository.deleteByItineraryId(id);
-        System.out.println("All activities deleted for itinerary ID: " + id);
+        Itinerary savedItinerary = itineraryRepository.saveAndFlush(itinerary);
+        cacheInvalidator.itineraryChanged(id, itinerary.getUser().getId());
+        return serviceMetrics.timeConversion(() -> convertToDTO(savedItinerary));
+    }
+    
+    @Transactional
+    public void deleteItinerary(Long id) {
+        Long userId = itineraryRepository.findUserIdById(id)
+                .orElseThrow(() -> new RuntimeException("Itinerary not found with id: " + id));
         
-        System.out.println("Deleting itinerary with ID: " + id);
-        // Then delete the itinerary
-        itineraryRepository.deleteById(id);
-        System.out.println("Itinerary successfully deleted with ID: " + id);
+        // Bulk deletes: one statement for the activities and one for the itinerary, however many rows there are
+        activityRepository.deleteByItineraryId(id);
+        itineraryRepository.deleteItineraryById(id);
+        cacheInvalidator.activitiesChanged(id);
+        cacheInvalidator.itineraryChanged(id, userId);
+        itineraryEventBus.itineraryDeleted(id);
+    }
+    
+    @Transactional
+    public int deleteItinerariesByUserId(Long userId) {
+        List<Long> itineraryIds = itineraryRepository.findIdsByUserId(userId);
+        activityRepository.deleteByUserId(userId);
+        itineraryRepository.deleteByUserId(userId);
+        for (Long itineraryId : itineraryIds) {
+            cacheInvalidator.activitiesChanged(itineraryId);
+            cacheInvalidator.itineraryChanged(itineraryId, userId);
+            itineraryEventBus.itineraryDeleted(itineraryId);
+        }
+        return itineraryIds.size();
+    }
+    
+    // Activities of one date, already in start-time order
+    private ItineraryDayDTO toDay(List<ActivityDTO> activities) {
+        List<Long> activityIds = new ArrayList<>(activities.size());
+        List<TravelGapDTO> gaps = new ArrayList<>(Math.max(0, activities.size() - 1));
+        ActivityDTO previous = null;
+        for (ActivityDTO activity : activities) {
+            activityIds.add(activity.getId());
+            if (previous != null) {
+                gaps.add(toGap(previous, activity));
+            }
+            previous = activity;
+        }
+        return new ItineraryDayDTO(activities.get(0).getDate(), activityIds, gaps);
+    }
+    
+    // Distance and travel time stay null when either stop has no coordinates
+    private TravelGapDTO toGap(ActivityDTO from, ActivityDTO to) {
+        int freeMinutes = to.getStartTime().toSecondOfDay() / 60
+                - (from.getStartTime().toSecondOfDay() / 60 + from.getDuration());
+        Double distanceKm = null;
+        Integer travelMinutes = null;
+        if (from.getLatitude() != null && from.getLongitude() != null
+                && to.getLatitude() != null && to.getLongitude() != null) {
+            distanceKm = travelTimeService.getDistanceKm(from.getLatitude(), from.getLongitude(),
+                    to.getLatitude(), to.getLongitude());
+            travelMinutes = travelTimeService.toMinutes(distanceKm);
+        }
+        return new TravelGapDTO(from.getId(), to.getId(), distanceKm, travelMinutes, freeMinutes);
+    }
+    
+    private void checkVersion(Itinerary itinerary, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(itinerary.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(Itinerary.class, itinerary.getId());
+        }
     }
     
     private ItineraryDTO convertToDTO(Itinerary itinerary) {
@@ -99,6 +254,7 @@ public class ItineraryService {
         dto.setEndDate(itinerary.getEndDate());
         dto.setNotes(itinerary.getNotes());
         dto.setUserId(itinerary.getUser().getId());
+        dto.setVersion(itinerary.getVersion());
         return dto;
     }
 }
@@ -0,0 +1,124 @@
+package com.example.vacationPlanner.service;
+
+import com.example.vacationPlanner.model.GeoCell;
+import com.example.vacationPlanner.model.dto.ActivityDTO;
+import com.example.vacationPlanner.model.dto.NearbyActivityDTO;
+import com.example.vacationPlanner.repository.ActivityRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+// Radius search over activities. Within one itinerary it runs in memory on a SpatialGrid built from the cached
+// activity list; across all activities it asks the database for the geo_cell ranges covering the search box.
+@Service
+public class NearbyActivityService {
+
+    private static final double MAX_RADIUS_KM = 100;
+    private static final int MAX_RESULTS = 1000;
+
+    @Autowired
+    private ActivityRepository activityRepository;
+
+    @Autowired
+    private ActivityService activityService;
+
+    @Autowired
+    private CacheInvalidator cacheInvalidator;
+
+    @Autowired
+    private ServiceMetrics serviceMetrics;
+
+    @Value("${nearby.grid-cache.max-entries:1000}")
+    private int gridCacheMaxEntries;
+
+    private Cache<Long, ItineraryGrid> grids;
+
+    @PostConstruct
+    void initCache() {
+        grids = Caffeine.newBuilder()
+                .maximumSize(gridCacheMaxEntries)
+                .build();
+    }
+
+    public List<NearbyActivityDTO> findNearby(double latitude, double longitude, double radiusKm, Long itineraryId, int limit) {
+        if (latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180) {
+            throw new IllegalArgumentException("Coordinates out of range");
+        }
+        if (!(radiusKm > 0 && radiusKm <= MAX_RADIUS_KM)) {
+            throw new IllegalArgumentException("Radius must be between 0 and " + MAX_RADIUS_KM + " km");
+        }
+        int maxResults = Math.max(1, Math.min(limit, MAX_RESULTS));
+        return itineraryId != null
+                ? findNearbyInItinerary(latitude, longitude, radiusKm, itineraryId, maxResults)
+                : findNearbyInDatabase(latitude, longitude, radiusKm, maxResults);
+    }
+
+    private List<NearbyActivityDTO> findNearbyInItinerary(double latitude, double longitude, double radiusKm,
+                                                          Long itineraryId, int maxResults) {
+        ItineraryGrid itineraryGrid = itineraryGrid(itineraryId);
+        SpatialGrid.Matches matches = itineraryGrid.grid().within(latitude, longitude, radiusKm);
+        int count = Math.min(matches.size(), maxResults);
+        List<NearbyActivityDTO> nearby = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            nearby.add(new NearbyActivityDTO(itineraryGrid.activities().get(matches.index(i)), matches.distanceKm(i)));
+        }
+        return nearby;
+    }
+
+    private List<NearbyActivityDTO> findNearbyInDatabase(double latitude, double longitude, double radiusKm, int maxResults) {
+        double latDelta = radiusKm / SpatialGrid.KM_PER_DEGREE;
+        double lngDelta = SpatialGrid.longitudeDelta(latitude, latDelta);
+        double minLat = Math.max(-90, latitude - latDelta);
+        double maxLat = Math.min(90, latitude + latDelta);
+        double minLng = longitude - lngDelta;
+        double maxLng = longitude + lngDelta;
+        if (minLng < -180 || maxLng > 180) {
+            // The box crosses the antimeridian; search the whole latitude band instead of splitting it
+            minLng = -180;
+            maxLng = 180;
+        }
+
+        List<ActivityDTO> candidates = serviceMetrics.rowsReturned("activities.nearby",
+                activityRepository.findDTOsInCellRanges(GeoCell.covering(minLat, maxLat, minLng, maxLng),
+                        minLat, maxLat, minLng, maxLng, latitude, longitude, maxResults));
+        List<NearbyActivityDTO> nearby = new ArrayList<>(candidates.size());
+        for (ActivityDTO candidate : candidates) {
+            double km = TravelTimeService.haversineKm(latitude, longitude, candidate.getLatitude(), candidate.getLongitude());
+            if (km <= radiusKm) {
+                nearby.add(new NearbyActivityDTO(candidate, km));
+            }
+        }
+        nearby.sort(Comparator.comparingDouble(NearbyActivityDTO::getDistanceKm));
+        return nearby;
+    }
+
+    // Rebuilt when the activities ETag moves on, i.e. after any change to the itinerary's activities
+    private ItineraryGrid itineraryGrid(Long itineraryId) {
+        String version = cacheInvalidator.activitiesETag(itineraryId);
+        ItineraryGrid cached = grids.getIfPresent(itineraryId);
+        if (cached != null && cached.version().equals(version)) {
+            return cached;
+        }
+        List<ActivityDTO> located = activityService.getActivitiesByItineraryId(itineraryId).stream()
+                .filter(activity -> activity.getLatitude() != null && activity.getLongitude() != null)
+                .toList();
+        double[] latitudes = new double[located.size()];
+        double[] longitudes = new double[located.size()];
+        for (int i = 0; i < located.size(); i++) {
+            latitudes[i] = located.get(i).getLatitude();
+            longitudes[i] = located.get(i).getLongitude();
+        }
+        ItineraryGrid itineraryGrid = new ItineraryGrid(version, located, new SpatialGrid(latitudes, longitudes));
+        grids.put(itineraryId, itineraryGrid);
+        return itineraryGrid;
+    }
+
+    private record ItineraryGrid(String version, List<ActivityDTO> activities, SpatialGrid grid) {
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.vacationPlanner.service;
+
+import com.example.vacationPlanner.model.dto.GeocodeResultDTO;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+import java.util.List;
+import java.util.Optional;
+
+// OpenStreetMap Nominatim, which allows one request per second and requires an identifying User-Agent
+@Component
+@ConditionalOnProperty(name = "geocoding.provider", havingValue = "nominatim", matchIfMissing = true)
+public class NominatimGeocodingProvider implements GeocodingProvider {
+
+    @Autowired
+    private RestClient.Builder restClientBuilder;
+
+    @Value("${geocoding.nominatim.base-url:https://nominatim.openstreetmap.org}")
+    private String baseUrl;
+
+    @Value("${geocoding.nominatim.user-agent:vacation-planner}")
+    private String userAgent;
+
+    private RestClient restClient;
+
+    @PostConstruct
+    void initClient() {
+        restClient = restClientBuilder
+                .baseUrl(baseUrl)
+                .defaultHeader(HttpHeaders.USER_AGENT, userAgent)
+                .build();
+    }
+
+    @Override
+    public Optional<GeocodeResultDTO> search(String query) {
+        List<Place> places = restClient.get()
+                .uri(uri -> uri.path("/search")
+                        .queryParam("format", "jsonv2")
+                        .queryParam("limit", 1)
+                        .queryParam("q", query)
+                        .build())
+                .retrieve()
+                .body(new ParameterizedTypeReference<List<Place>>() {
+                });
+        if (places == null || places.isEmpty()) {
+            return Optional.empty();
+        }
+        return toResult(places.get(0));
+    }
+
+    @Override
+    public Optional<GeocodeResultDTO> reverse(double latitude, double longitude) {
+        Place place = restClient.get()
+                .uri(uri -> uri.path("/reverse")
+                        .queryParam("format", "jsonv2")
+                        .queryParam("zoom", 18)
+                        .queryParam("lat", latitude)
+                        .queryParam("lon", longitude)
+                        .build())
+                .retrieve()
+                .body(Place.class);
+        return toResult(place);
+    }
+
+    // Nominatim answers an unknown place with {"error": ...}, which leaves every field null
+    private Optional<GeocodeResultDTO> toResult(Place place) {
+        if (place == null || place.lat() == null || place.lon() == null) {
+            return Optional.empty();
+        }
+        return Optional.of(new GeocodeResultDTO(place.displayName(),
+                Double.valueOf(place.lat()), Double.valueOf(place.lon())));
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    private record Place(String lat, String lon, @JsonProperty("display_name") String displayName) {
+    }
+}
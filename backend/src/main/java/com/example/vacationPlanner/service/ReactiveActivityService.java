@@ -0,0 +1,62 @@
+package com.example.vacationPlanner.service;
+
+import com.example.vacationPlanner.model.dto.ActivityDTO;
+import com.example.vacationPlanner.model.dto.BudgetSummaryDTO;
+import com.example.vacationPlanner.model.dto.DailyBudgetDTO;
+import com.example.vacationPlanner.repository.ReactiveActivityRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+@Profile("reactive")
+public class ReactiveActivityService {
+
+    @Autowired
+    private ReactiveActivityRepository reactiveActivityRepository;
+
+    public Flux<ActivityDTO> getActivitiesByItineraryId(Long itineraryId) {
+        return reactiveActivityRepository.findDTOsByItineraryId(itineraryId);
+    }
+
+    public Mono<ActivityDTO> getActivityById(Long id) {
+        return reactiveActivityRepository.findDTOById(id);
+    }
+
+    public Flux<ActivityDTO> getActivitiesByItineraryIdAndDate(Long itineraryId, LocalDate date) {
+        return reactiveActivityRepository.findDTOsByItineraryIdAndDate(itineraryId, date);
+    }
+
+    public Mono<BigDecimal> getTotalCostForItinerary(Long itineraryId) {
+        return reactiveActivityRepository.sumCostByItineraryId(itineraryId)
+                .defaultIfEmpty(BigDecimal.ZERO);
+    }
+
+    public Mono<Map<LocalDate, BigDecimal>> getDailyCostsForItinerary(Long itineraryId) {
+        return reactiveActivityRepository.summarizeDailyCostByItineraryId(itineraryId)
+                .collect(LinkedHashMap::new, (dailyCosts, day) -> dailyCosts.put(day.getDate(), day.getTotalCost()));
+    }
+
+    public Mono<BudgetSummaryDTO> getBudgetSummaryForItinerary(Long itineraryId) {
+        Mono<BudgetSummaryDTO> summary = reactiveActivityRepository.summarizeCostByItineraryId(itineraryId);
+        Mono<List<DailyBudgetDTO>> daily = reactiveActivityRepository.summarizeDailyCostByItineraryId(itineraryId)
+                .collectList();
+        return Mono.zip(summary, daily, (budget, days) -> {
+            if (budget.getTotalCost() == null) {
+                budget.setTotalCost(BigDecimal.ZERO);
+                budget.setActivityCount(0L);
+                budget.setTotalDuration(0L);
+            }
+            budget.setItineraryId(itineraryId);
+            budget.setDaily(days);
+            return budget;
+        });
+    }
+}
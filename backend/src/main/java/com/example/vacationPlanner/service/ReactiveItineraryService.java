@@ -0,0 +1,25 @@
+package com.example.vacationPlanner.service;
+
+import com.example.vacationPlanner.model.dto.ItineraryDTO;
+import com.example.vacationPlanner.repository.ReactiveItineraryRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Service
+@Profile("reactive")
+public class ReactiveItineraryService {
+
+    @Autowired
+    private ReactiveItineraryRepository reactiveItineraryRepository;
+
+    public Flux<ItineraryDTO> getItinerariesByUserId(Long userId) {
+        return reactiveItineraryRepository.findDTOsByUserId(userId);
+    }
+
+    public Mono<ItineraryDTO> getItineraryById(Long id) {
+        return reactiveItineraryRepository.findDTOById(id);
+    }
+}
@@ -0,0 +1,165 @@
+package com.example.vacationPlanner.service;
+
+import com.example.vacationPlanner.model.dto.ActivityDTO;
+import com.example.vacationPlanner.model.dto.OptimizedStopDTO;
+import com.example.vacationPlanner.model.dto.RouteOptimizationDTO;
+import com.example.vacationPlanner.repository.ActivityRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+@Service
+public class RouteOptimizationService {
+
+    private static final int MINUTES_PER_DAY = 24 * 60;
+
+    @Autowired
+    private ActivityRepository activityRepository;
+
+    @Autowired
+    private ActivityService activityService;
+
+    @Autowired
+    private TravelTimeService travelTimeService;
+
+    public RouteOptimizationDTO optimizeDay(Long itineraryId, LocalDate date, Set<Long> fixedActivityIds, boolean apply) {
+        List<ActivityDTO> activities = activityRepository.findDTOsByItineraryIdAndDate(itineraryId, date);
+        int n = activities.size();
+
+        boolean[] located = new boolean[n];
+        boolean[] fixed = new boolean[n];
+        for (int i = 0; i < n; i++) {
+            ActivityDTO activity = activities.get(i);
+            located[i] = activity.getLatitude() != null && activity.getLongitude() != null;
+            fixed[i] = fixedActivityIds != null && fixedActivityIds.contains(activity.getId());
+        }
+
+        // Stops without coordinates are treated as zero distance from everything
+        double[] distance = new double[n * n];
+        for (int i = 0; i < n; i++) {
+            if (!located[i]) {
+                continue;
+            }
+            ActivityDTO from = activities.get(i);
+            for (int j = i + 1; j < n; j++) {
+                if (!located[j]) {
+                    continue;
+                }
+                ActivityDTO to = activities.get(j);
+                double km = TravelTimeService.haversineKm(from.getLatitude(), from.getLongitude(),
+                        to.getLatitude(), to.getLongitude());
+                distance[i * n + j] = km;
+                distance[j * n + i] = km;
+            }
+        }
+
+        int[] earliestStart = new int[n];
+        int[] duration = new int[n];
+        int[] travel = new int[n * n];
+        for (int i = 0; i < n; i++) {
+            earliestStart[i] = toMinutes(activities.get(i).getStartTime());
+            duration[i] = activities.get(i).getDuration();
+            for (int j = 0; j < n; j++) {
+                travel[i * n + j] = i != j ? travelMinutes(i, j, located, distance, n) : 0;
+            }
+        }
+
+        RouteOptimizer optimizer = new RouteOptimizer(distance, n, fixed, earliestStart, duration, travel);
+        int[] original = new int[n];
+        for (int i = 0; i < n; i++) {
+            original[i] = i;
+        }
+        int[] order = optimizer.optimize();
+
+        List<OptimizedStopDTO> stops = schedule(activities, order, fixed, located, distance);
+        RouteOptimizationDTO result = new RouteOptimizationDTO();
+        result.setItineraryId(itineraryId);
+        result.setDate(date);
+        result.setStops(stops);
+        result.setOriginalDistanceKm(optimizer.pathLength(original));
+        result.setOptimizedDistanceKm(optimizer.pathLength(order));
+        result.setOriginalTravelMinutes(totalTravelMinutes(original, located, distance, n));
+        result.setOptimizedTravelMinutes(totalTravelMinutes(order, located, distance, n));
+
+        if (apply) {
+            applySchedule(activities, stops);
+            result.setApplied(true);
+        }
+        return result;
+    }
+
+    // Each stop's current start time is a lower bound: free stops start on arrival from the previous stop or at that
+    // time, whichever is later, so optimizing never moves a stop earlier. Fixed stops keep their time and report
+    // lateness. A stop pushed past midnight would land on the next day, so the whole day is rejected rather than
+    // wrapped.
+    private List<OptimizedStopDTO> schedule(List<ActivityDTO> activities, int[] order, boolean[] fixed,
+                                            boolean[] located, double[] distance) {
+        int n = order.length;
+        List<OptimizedStopDTO> stops = new ArrayList<>(n);
+        int cursor = 0;
+        for (int k = 0; k < n; k++) {
+            int index = order[k];
+            ActivityDTO activity = activities.get(index);
+            int travel = k > 0 ? travelMinutes(order[k - 1], index, located, distance, n) : 0;
+            int originalStart = toMinutes(activity.getStartTime());
+            int arrival = k > 0 ? cursor + travel : originalStart;
+
+            int start = fixed[index] ? originalStart : Math.max(arrival, originalStart);
+            int minutesLate = fixed[index] ? Math.max(0, arrival - originalStart) : 0;
+            if (start >= MINUTES_PER_DAY) {
+                throw new DayOverflowException();
+            }
+            cursor = Math.max(start, arrival) + activity.getDuration();
+
+            stops.add(new OptimizedStopDTO(activity.getId(), activity.getName(), activity.getStartTime(),
+                    toTime(start), activity.getDuration(), travel, fixed[index], minutesLate));
+        }
+        return stops;
+    }
+
+    private void applySchedule(List<ActivityDTO> activities, List<OptimizedStopDTO> stops) {
+        List<ActivityDTO> changed = new ArrayList<>();
+        for (OptimizedStopDTO stop : stops) {
+            if (stop.getStartTime().equals(stop.getOriginalStartTime())) {
+                continue;
+            }
+            for (ActivityDTO activity : activities) {
+                if (activity.getId().equals(stop.getActivityId())) {
+                    activity.setStartTime(stop.getStartTime());
+                    changed.add(activity);
+                    break;
+                }
+            }
+        }
+        if (!changed.isEmpty()) {
+            activityService.updateActivities(changed);
+        }
+    }
+
+    private int totalTravelMinutes(int[] order, boolean[] located, double[] distance, int n) {
+        int total = 0;
+        for (int k = 1; k < order.length; k++) {
+            total += travelMinutes(order[k - 1], order[k], located, distance, n);
+        }
+        return total;
+    }
+
+    private int travelMinutes(int from, int to, boolean[] located, double[] distance, int n) {
+        if (!located[from] || !located[to]) {
+            return 0;
+        }
+        return travelTimeService.toMinutes(distance[from * n + to]);
+    }
+
+    private static int toMinutes(LocalTime time) {
+        return time.getHour() * 60 + time.getMinute();
+    }
+
+    private static LocalTime toTime(int minutes) {
+        return LocalTime.of(minutes / 60, minutes % 60);
+    }
+}
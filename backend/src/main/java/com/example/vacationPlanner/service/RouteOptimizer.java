@@ -0,0 +1,296 @@
+package com.example.vacationPlanner.service;
+
+// Orders the stops of a day to shorten the path through them. Stops flagged as fixed keep their slot in the
+// sequence; the others are placed by nearest neighbour and then improved with 2-opt, Or-opt and swap moves.
+// Works on a flat n*n distance matrix so the inner loops touch only primitive arrays.
+//
+// Given start times, durations and travel minutes, every stop starts no earlier than its start time, and an order
+// is only taken if it makes no fixed stop start later and no stop start past midnight. Times are only simulated for
+// moves that already shorten the path, so they add little to the search.
+public final class RouteOptimizer {
+
+    private static final double EPSILON = 1e-9;
+    private static final int MAX_OR_OPT_SEGMENT = 3;
+    private static final int MAX_PASSES = 1000;
+    private static final int MINUTES_PER_DAY = 24 * 60;
+
+    private final double[] distance;
+    private final int n;
+    private final boolean[] fixedSlot;
+    private final int[] earliestStart;
+    private final int[] duration;
+    private final int[] travelMinutes;
+    private int currentLateness;
+
+    public RouteOptimizer(double[] distance, int n, boolean[] fixed) {
+        this(distance, n, fixed, null, null, null);
+    }
+
+    // earliestStart and duration per stop and travelMinutes as a flat n*n matrix, all in minutes
+    public RouteOptimizer(double[] distance, int n, boolean[] fixed, int[] earliestStart, int[] duration,
+                          int[] travelMinutes) {
+        this.distance = distance;
+        this.n = n;
+        this.fixedSlot = fixed.clone();
+        this.earliestStart = earliestStart;
+        this.duration = duration;
+        this.travelMinutes = travelMinutes;
+    }
+
+    // Stop i is expected in slot i of the current (chronological) order
+    public int[] optimize() {
+        int[] order = nearestNeighbour();
+        if (earliestStart != null) {
+            // Nearest neighbour ignores time, so fall back to the current order when that keeps the times better
+            int[] current = new int[n];
+            for (int i = 0; i < n; i++) {
+                current[i] = i;
+            }
+            currentLateness = lateness(order);
+            int unchangedLateness = lateness(current);
+            if (unchangedLateness < currentLateness) {
+                order = current;
+                currentLateness = unchangedLateness;
+            }
+        }
+        for (int pass = 0; pass < MAX_PASSES; pass++) {
+            boolean improved = twoOpt(order);
+            improved |= orOpt(order);
+            improved |= swap(order);
+            if (!improved) {
+                break;
+            }
+        }
+        return order;
+    }
+
+    // Minutes the fixed stops start after their time, plus minutes past midnight of any stop, when each stop starts
+    // on arrival or at its own start time, whichever is later
+    public int lateness(int[] order) {
+        int total = 0;
+        int end = 0;
+        for (int k = 0; k < order.length; k++) {
+            int stop = order[k];
+            int arrival = k > 0 ? end + travelMinutes[order[k - 1] * n + stop] : earliestStart[stop];
+            int start = Math.max(arrival, earliestStart[stop]);
+            if (fixedSlot[stop]) {
+                total += start - earliestStart[stop];
+            }
+            if (start >= MINUTES_PER_DAY) {
+                total += start - MINUTES_PER_DAY + 1;
+            }
+            end = start + duration[stop];
+        }
+        return total;
+    }
+
+    public double pathLength(int[] order) {
+        double length = 0;
+        for (int i = 1; i < order.length; i++) {
+            length += d(order[i - 1], order[i]);
+        }
+        return length;
+    }
+
+    private int[] nearestNeighbour() {
+        int[] order = new int[n];
+        boolean[] used = new boolean[n];
+        for (int slot = 0; slot < n; slot++) {
+            if (fixedSlot[slot]) {
+                order[slot] = slot;
+                used[slot] = true;
+            }
+        }
+        for (int slot = 0; slot < n; slot++) {
+            if (fixedSlot[slot]) {
+                continue;
+            }
+            int best = -1;
+            double bestDistance = Double.MAX_VALUE;
+            for (int candidate = 0; candidate < n; candidate++) {
+                if (used[candidate]) {
+                    continue;
+                }
+                // The first slot has no predecessor, so it keeps the chronologically earliest free stop
+                double candidateDistance = slot == 0 ? candidate : d(order[slot - 1], candidate);
+                if (candidateDistance < bestDistance) {
+                    bestDistance = candidateDistance;
+                    best = candidate;
+                }
+            }
+            order[slot] = best;
+            used[best] = true;
+        }
+        return order;
+    }
+
+    // Reverses order[i..j] when that shortens the path; only inside runs of free slots
+    private boolean twoOpt(int[] order) {
+        boolean improved = false;
+        for (int i = 0; i < n - 1; i++) {
+            if (fixedSlot[i]) {
+                continue;
+            }
+            for (int j = i + 1; j < n && !fixedSlot[j]; j++) {
+                double before = edge(order, i - 1, i) + edge(order, j, j + 1);
+                double after = (i > 0 ? d(order[i - 1], order[j]) : 0) + (j < n - 1 ? d(order[i], order[j + 1]) : 0);
+                if (after < before - EPSILON) {
+                    reverse(order, i, j);
+                    if (keepsTimes(order)) {
+                        improved = true;
+                    } else {
+                        reverse(order, i, j);
+                    }
+                }
+            }
+        }
+        return improved;
+    }
+
+    // Moves a segment of 1-3 stops to another position inside the same run of free slots
+    private boolean orOpt(int[] order) {
+        boolean improved = false;
+        for (int length = 1; length <= MAX_OR_OPT_SEGMENT; length++) {
+            for (int start = 0; start + length <= n; start++) {
+                int end = start + length - 1;
+                if (!freeRange(start, end)) {
+                    continue;
+                }
+                int runStart = start;
+                while (runStart > 0 && !fixedSlot[runStart - 1]) {
+                    runStart--;
+                }
+                int runEnd = end;
+                while (runEnd < n - 1 && !fixedSlot[runEnd + 1]) {
+                    runEnd++;
+                }
+
+                double removeGain = edge(order, start - 1, start) + edge(order, end, end + 1)
+                        - (start > 0 && end < n - 1 ? d(order[start - 1], order[end + 1]) : 0);
+
+                // Try inserting the segment between positions p and p + 1, outside [start - 1, end]
+                for (int p = runStart - 1; p <= runEnd; p++) {
+                    if (p >= start - 1 && p <= end) {
+                        continue;
+                    }
+                    int left = p >= 0 ? order[p] : -1;
+                    int right = p + 1 < n ? order[p + 1] : -1;
+                    double insertCost = forwardInsertCost(order, left, right, start, end);
+                    double reversedInsertCost = reversedInsertCost(order, left, right, start, end);
+                    double bestInsert = Math.min(insertCost, reversedInsertCost);
+                    if (bestInsert < removeGain - EPSILON) {
+                        int[] previous = earliestStart != null ? order.clone() : null;
+                        move(order, start, end, p, reversedInsertCost < insertCost);
+                        if (keepsTimes(order)) {
+                            improved = true;
+                            break;
+                        }
+                        System.arraycopy(previous, 0, order, 0, n);
+                    }
+                }
+            }
+        }
+        return improved;
+    }
+
+    // Exchanges two free stops, which lets stops cross over fixed ones into another run
+    private boolean swap(int[] order) {
+        boolean improved = false;
+        for (int i = 0; i < n - 1; i++) {
+            if (fixedSlot[i]) {
+                continue;
+            }
+            for (int j = i + 2; j < n; j++) {
+                if (fixedSlot[j]) {
+                    continue;
+                }
+                double before = edge(order, i - 1, i) + edge(order, i, i + 1)
+                        + edge(order, j - 1, j) + edge(order, j, j + 1);
+                swapSlots(order, i, j);
+                double after = edge(order, i - 1, i) + edge(order, i, i + 1)
+                        + edge(order, j - 1, j) + edge(order, j, j + 1);
+                if (after < before - EPSILON && keepsTimes(order)) {
+                    improved = true;
+                } else {
+                    swapSlots(order, i, j);
+                }
+            }
+        }
+        return improved;
+    }
+
+    // Takes a rearranged order only if it is no later than the one it replaces
+    private boolean keepsTimes(int[] order) {
+        if (earliestStart == null) {
+            return true;
+        }
+        int candidate = lateness(order);
+        if (candidate > currentLateness) {
+            return false;
+        }
+        currentLateness = candidate;
+        return true;
+    }
+
+    private double forwardInsertCost(int[] order, int left, int right, int start, int end) {
+        double cost = left >= 0 ? d(left, order[start]) : 0;
+        cost += right >= 0 ? d(order[end], right) : 0;
+        return cost - (left >= 0 && right >= 0 ? d(left, right) : 0);
+    }
+
+    private double reversedInsertCost(int[] order, int left, int right, int start, int end) {
+        double cost = left >= 0 ? d(left, order[end]) : 0;
+        cost += right >= 0 ? d(order[start], right) : 0;
+        return cost - (left >= 0 && right >= 0 ? d(left, right) : 0);
+    }
+
+    // Moves order[start..end] so it sits right after position p (p = -1 means at the front)
+    private void move(int[] order, int start, int end, int p, boolean reversed) {
+        int length = end - start + 1;
+        int[] segment = new int[length];
+        for (int k = 0; k < length; k++) {
+            segment[k] = order[reversed ? end - k : start + k];
+        }
+        if (p < start) {
+            System.arraycopy(order, p + 1, order, p + 1 + length, start - p - 1);
+            System.arraycopy(segment, 0, order, p + 1, length);
+        } else {
+            System.arraycopy(order, end + 1, order, start, p - end);
+            System.arraycopy(segment, 0, order, p - length + 1, length);
+        }
+    }
+
+    private boolean freeRange(int start, int end) {
+        for (int k = start; k <= end; k++) {
+            if (fixedSlot[k]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private double edge(int[] order, int from, int to) {
+        if (from < 0 || to >= n) {
+            return 0;
+        }
+        return d(order[from], order[to]);
+    }
+
+    private double d(int from, int to) {
+        return distance[from * n + to];
+    }
+
+    private static void reverse(int[] order, int i, int j) {
+        while (i < j) {
+            int tmp = order[i];
+            order[i++] = order[j];
+            order[j--] = tmp;
+        }
+    }
+
+    private static void swapSlots(int[] order, int i, int j) {
+        int tmp = order[i];
+        order[i] = order[j];
+        order[j] = tmp;
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.vacationPlanner.service;
+
+import com.example.vacationPlanner.model.dto.ScheduleConflictDTO;
+import java.util.List;
+
+// Thrown inside the write transaction when a created or updated activity overlaps another one on the same day
+public class ScheduleConflictException extends RuntimeException {
+
+    private final List<ScheduleConflictDTO> conflicts;
+
+    public ScheduleConflictException(List<ScheduleConflictDTO> conflicts) {
+        super("Activity overlaps another activity");
+        this.conflicts = conflicts;
+    }
+
+    public List<ScheduleConflictDTO> getConflicts() {
+        return conflicts;
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.vacationPlanner.service;
+
+import com.example.vacationPlanner.model.dto.ActivityDTO;
+import com.example.vacationPlanner.model.dto.ScheduleConflictDTO;
+import com.example.vacationPlanner.repository.ActivityRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+// Finds overlapping activities and gaps too short for the trip between two stops with one sort by
+// (date, start time, id) and a single pass, instead of comparing every pair of activities of a day
+@Service
+public class ScheduleValidationService {
+    
+    private static final Comparator<ActivityDTO> SCHEDULE_ORDER = Comparator.comparing(ActivityDTO::getDate)
+            .thenComparing(ActivityDTO::getStartTime)
+            .thenComparing(ActivityDTO::getId, Comparator.nullsLast(Comparator.naturalOrder()));
+    
+    @Autowired
+    private ActivityRepository activityRepository;
+    
+    @Autowired
+    private TravelTimeService travelTimeService;
+    
+    @Value("${schedule.reject-overlaps:false}")
+    private boolean rejectOverlaps;
+    
+    @Transactional(readOnly = true)
+    public List<ScheduleConflictDTO> getConflicts(Long itineraryId) {
+        return findConflicts(activityRepository.findOrderedDTOsByItineraryId(itineraryId), true);
+    }
+    
+    // Opt-in (schedule.reject-overlaps); by default overlaps are saved and only reported by getConflicts. Runs inside
+    // the write transaction; the query flushes the pending changes first. Only overlaps that involve one of the
+    // written activities fail the write, so an existing clash elsewhere does not block unrelated edits.
+    public void checkWrite(Long itineraryId, Collection<Long> writtenIds) {
+        if (!rejectOverlaps) {
+            return;
+        }
+        List<ScheduleConflictDTO> overlaps = findConflicts(activityRepository.findOrderedDTOsByItineraryId(itineraryId), false)
+                .stream()
+                .filter(conflict -> writtenIds.contains(conflict.getFirstActivityId())
+                        || writtenIds.contains(conflict.getSecondActivityId()))
+                .toList();
+        if (!overlaps.isEmpty()) {
+            throw new ScheduleConflictException(overlaps);
+        }
+    }
+    
+    // Each activity is compared with the earlier activity of the same day that ends last. That finds every
+    // activity involved in an overlap (though not every overlapping pair when three or more stack up), and when
+    // there is no overlap it is the stop the traveller leaves from.
+    public List<ScheduleConflictDTO> findConflicts(List<ActivityDTO> activities, boolean includeTravel) {
+        List<ActivityDTO> ordered = new ArrayList<>(activities);
+        ordered.sort(SCHEDULE_ORDER);
+        
+        List<ScheduleConflictDTO> conflicts = new ArrayList<>();
+        ActivityDTO latest = null;
+        int latestEnd = 0;
+        for (ActivityDTO activity : ordered) {
+            int start = activity.getStartTime().toSecondOfDay() / 60;
+            int end = start + activity.getDuration();
+            if (latest != null && !latest.getDate().equals(activity.getDate())) {
+                latest = null;
+            }
+            if (latest != null) {
+                if (start < latestEnd) {
+                    conflicts.add(new ScheduleConflictDTO(ScheduleConflictDTO.Type.OVERLAP, activity.getDate(),
+                            latest.getId(), activity.getId(), Math.min(latestEnd, end) - start, null, null, null));
+                } else if (includeTravel) {
+                    ScheduleConflictDTO tooShort = checkTravel(latest, activity, start - latestEnd);
+                    if (tooShort != null) {
+                        conflicts.add(tooShort);
+                    }
+                }
+            }
+            if (latest == null || end > latestEnd) {
+                latest = activity;
+                latestEnd = end;
+            }
+        }
+        return conflicts;
+    }
+    
+    // Stops without coordinates, or at the same place, never need travel time
+    private ScheduleConflictDTO checkTravel(ActivityDTO from, ActivityDTO to, int freeMinutes) {
+        if (from.getLatitude() == null || from.getLongitude() == null
+                || to.getLatitude() == null || to.getLongitude() == null) {
+            return null;
+        }
+        double distanceKm = travelTimeService.getDistanceKm(from.getLatitude(), from.getLongitude(),
+                to.getLatitude(), to.getLongitude());
+        if (distanceKm == 0) {
+            return null;
+        }
+        int travelMinutes = travelTimeService.toMinutes(distanceKm);
+        if (travelMinutes <= freeMinutes) {
+            return null;
+        }
+        return new ScheduleConflictDTO(ScheduleConflictDTO.Type.TRAVEL, to.getDate(), from.getId(), to.getId(),
+                null, freeMinutes, distanceKm, travelMinutes);
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.vacationPlanner.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+// Service-level meters that the built-in HTTP, repository and cache metrics do not cover:
+// rows handed back by listing queries, time spent converting entities to DTOs, where geocoding answers came from,
+// budget rollup rows the reconciler had to repair and the activity write-behind queue.
+@Component
+public class ServiceMetrics {
+
+    private final MeterRegistry meterRegistry;
+    private final Timer dtoConversionTimer;
+    private final Map<String, Counter> rowCounters = new ConcurrentHashMap<>();
+    private final Map<String, Counter> geocodingCounters = new ConcurrentHashMap<>();
+    private final Counter budgetRollupRepairs;
+    private final Timer writeBehindFlushTimer;
+    private final Counter writeBehindDropped;
+
+    public ServiceMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.dtoConversionTimer = Timer.builder("vacationplanner.dto.conversion")
+                .description("Time spent converting entities to DTOs")
+                .register(meterRegistry);
+        this.budgetRollupRepairs = Counter.builder("vacationplanner.budget.rollup.repairs")
+                .description("budget_rollups rows the reconciler found out of step with the activities")
+                .register(meterRegistry);
+        this.writeBehindFlushTimer = Timer.builder("vacationplanner.activity.write-behind.flush")
+                .description("Time to write one batch of deferred activity edits")
+                .register(meterRegistry);
+        this.writeBehindDropped = Counter.builder("vacationplanner.activity.write-behind.dropped")
+                .description("Deferred activity edits that could not be written")
+                .register(meterRegistry);
+    }
+
+    public <T> List<T> rowsReturned(String query, List<T> rows) {
+        rowCounter(query).increment(rows.size());
+        return rows;
+    }
+
+    // Wraps a streaming consumer so every row it receives is counted
+    public <T> Consumer<T> countingRows(String query, Consumer<T> consumer) {
+        Counter counter = rowCounter(query);
+        return row -> {
+            counter.increment();
+            consumer.accept(row);
+        };
+    }
+
+    public <T> T timeConversion(Supplier<T> conversion) {
+        return dtoConversionTimer.record(conversion);
+    }
+
+    // source is memory, table or provider
+    public void geocodingLookup(String source) {
+        geocodingCounters.computeIfAbsent(source, name -> Counter.builder("vacationplanner.geocoding.lookups")
+                .description("Geocoding lookups by the tier that answered them")
+                .tag("source", name)
+                .register(meterRegistry)).increment();
+    }
+
+    public void budgetRollupsRepaired(int rows) {
+        budgetRollupRepairs.increment(rows);
+    }
+
+    public void writeBehindQueue(Supplier<Number> depth) {
+        Gauge.builder("vacationplanner.activity.write-behind.depth", depth)
+                .description("Activity edits waiting to be written")
+                .register(meterRegistry);
+    }
+
+    public void timeWriteBehindFlush(Runnable flush) {
+        writeBehindFlushTimer.record(flush);
+    }
+
+    public void writeBehindEditsDropped(int edits) {
+        writeBehindDropped.increment(edits);
+    }
+
+    private Counter rowCounter(String query) {
+        return rowCounters.computeIfAbsent(query, name -> Counter.builder("vacationplanner.rows.returned")
+                .description("Rows returned by listing queries")
+                .tag("query", name)
+                .register(meterRegistry));
+    }
+}
@@ -0,0 +1,181 @@
+package com.example.vacationPlanner.service;
+
+import java.util.Arrays;
+
+// Immutable uniform grid over a set of points for radius queries. Points are sorted by cell into flat
+// primitive arrays (cellStart[c]..cellStart[c + 1] are the points of cell c), so a query reads a few
+// contiguous runs of doubles and never touches a boxed coordinate.
+public final class SpatialGrid {
+
+    static final double KM_PER_DEGREE = 111.195;
+    private static final int TARGET_POINTS_PER_CELL = 8;
+    private static final int MAX_CELLS_PER_SIDE = 2048;
+
+    private final int rows;
+    private final int cols;
+    private final double minLat;
+    private final double minLng;
+    private final double latStep;
+    private final double lngStep;
+    private final int[] cellStart;
+    private final int[] pointIndex;
+    private final double[] latRad;
+    private final double[] lngRad;
+    private final double[] cosLat;
+    private final double[] latDeg;
+    private final double[] lngDeg;
+
+    // latitudes[i], longitudes[i] is point i; query results refer to points by that index
+    public SpatialGrid(double[] latitudes, double[] longitudes) {
+        int n = latitudes.length;
+        double maxLat = -90;
+        double maxLng = -180;
+        double lowLat = 90;
+        double lowLng = 180;
+        for (int i = 0; i < n; i++) {
+            lowLat = Math.min(lowLat, latitudes[i]);
+            maxLat = Math.max(maxLat, latitudes[i]);
+            lowLng = Math.min(lowLng, longitudes[i]);
+            maxLng = Math.max(maxLng, longitudes[i]);
+        }
+        int side = (int) Math.max(1, Math.min(MAX_CELLS_PER_SIDE, Math.ceil(Math.sqrt((double) n / TARGET_POINTS_PER_CELL))));
+        this.rows = side;
+        this.cols = side;
+        this.minLat = n == 0 ? 0 : lowLat;
+        this.minLng = n == 0 ? 0 : lowLng;
+        this.latStep = n == 0 ? 1 : Math.max((maxLat - lowLat) / rows, 1e-9);
+        this.lngStep = n == 0 ? 1 : Math.max((maxLng - lowLng) / cols, 1e-9);
+
+        // Counting sort of the points by cell
+        int[] cellOf = new int[n];
+        cellStart = new int[rows * cols + 1];
+        for (int i = 0; i < n; i++) {
+            cellOf[i] = row(latitudes[i]) * cols + col(longitudes[i]);
+            cellStart[cellOf[i] + 1]++;
+        }
+        for (int c = 0; c < rows * cols; c++) {
+            cellStart[c + 1] += cellStart[c];
+        }
+        int[] next = Arrays.copyOf(cellStart, rows * cols);
+        pointIndex = new int[n];
+        latRad = new double[n];
+        lngRad = new double[n];
+        cosLat = new double[n];
+        latDeg = new double[n];
+        lngDeg = new double[n];
+        for (int i = 0; i < n; i++) {
+            int slot = next[cellOf[i]]++;
+            pointIndex[slot] = i;
+            latDeg[slot] = latitudes[i];
+            lngDeg[slot] = longitudes[i];
+            latRad[slot] = Math.toRadians(latitudes[i]);
+            lngRad[slot] = Math.toRadians(longitudes[i]);
+            cosLat[slot] = Math.cos(latRad[slot]);
+        }
+    }
+
+    public int size() {
+        return pointIndex.length;
+    }
+
+    // Points within radiusKm of (latitude, longitude), nearest first
+    public Matches within(double latitude, double longitude, double radiusKm) {
+        Matches matches = new Matches();
+        if (pointIndex.length == 0) {
+            return matches;
+        }
+        double latDelta = radiusKm / KM_PER_DEGREE;
+        double lngDelta = longitudeDelta(latitude, latDelta);
+        double queryLatRad = Math.toRadians(latitude);
+        double queryLngRad = Math.toRadians(longitude);
+        double queryCosLat = Math.cos(queryLatRad);
+
+        int rowFrom = row(latitude - latDelta);
+        int rowTo = row(latitude + latDelta);
+        int colFrom = col(longitude - lngDelta);
+        int colTo = col(longitude + lngDelta);
+        for (int r = rowFrom; r <= rowTo; r++) {
+            for (int c = colFrom; c <= colTo; c++) {
+                int cell = r * cols + c;
+                for (int p = cellStart[cell]; p < cellStart[cell + 1]; p++) {
+                    // Cheap box test first; the Haversine only runs for points that can be inside the circle
+                    if (Math.abs(latDeg[p] - latitude) > latDelta || Math.abs(lngDeg[p] - longitude) > lngDelta) {
+                        continue;
+                    }
+                    double km = TravelTimeService.haversineKm(queryLatRad, queryLngRad, queryCosLat,
+                            latRad[p], lngRad[p], cosLat[p]);
+                    if (km <= radiusKm) {
+                        matches.add(pointIndex[p], km);
+                    }
+                }
+            }
+        }
+        matches.sortByDistance();
+        return matches;
+    }
+
+    // Half-width in degrees of longitude of a circle latDelta tall, taken at its poleward edge where it is widest
+    static double longitudeDelta(double latitude, double latDelta) {
+        double cos = Math.cos(Math.toRadians(Math.min(90, Math.abs(latitude) + latDelta)));
+        return cos > 1e-6 ? Math.min(180, latDelta / cos) : 180;
+    }
+
+    private int row(double latitude) {
+        return Math.max(0, Math.min(rows - 1, (int) Math.floor((latitude - minLat) / latStep)));
+    }
+
+    private int col(double longitude) {
+        return Math.max(0, Math.min(cols - 1, (int) Math.floor((longitude - minLng) / lngStep)));
+    }
+
+    // Growable parallel arrays of point index and distance
+    public static final class Matches {
+
+        private int[] indices = new int[16];
+        private double[] distancesKm = new double[16];
+        private int size;
+
+        public int size() {
+            return size;
+        }
+
+        public int index(int i) {
+            return indices[i];
+        }
+
+        public double distanceKm(int i) {
+            return distancesKm[i];
+        }
+
+        private void add(int index, double distanceKm) {
+            if (size == indices.length) {
+                indices = Arrays.copyOf(indices, size * 2);
+                distancesKm = Arrays.copyOf(distancesKm, size * 2);
+            }
+            indices[size] = index;
+            distancesKm[size] = distanceKm;
+            size++;
+        }
+
+        // Insertion order is by cell. Non-negative doubles order like their bit patterns, so each distance's
+        // lowest bits are swapped for its slot and one primitive sort yields the permutation
+        private void sortByDistance() {
+            int slotBits = 32 - Integer.numberOfLeadingZeros(Math.max(1, size));
+            long slotMask = (1L << slotBits) - 1;
+            long[] keyed = new long[size];
+            for (int i = 0; i < size; i++) {
+                keyed[i] = (Double.doubleToLongBits(distancesKm[i]) & ~slotMask) | i;
+            }
+            Arrays.sort(keyed);
+            int[] sortedIndices = new int[size];
+            double[] sortedDistances = new double[size];
+            for (int i = 0; i < size; i++) {
+                int slot = (int) (keyed[i] & slotMask);
+                sortedIndices[i] = indices[slot];
+                sortedDistances[i] = distancesKm[slot];
+            }
+            indices = sortedIndices;
+            distancesKm = sortedDistances;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.vacationPlanner.service;
+
+import com.example.vacationPlanner.model.dto.GeocodeResultDTO;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Offline provider for tests and local development: places every query at a repeatable point around Rome
+// and names reverse lookups after their coordinates. Queries starting with "nowhere" are not found.
+@Component
+@ConditionalOnProperty(name = "geocoding.provider", havingValue = "stub")
+public class StubGeocodingProvider implements GeocodingProvider {
+
+    private final AtomicInteger lookups = new AtomicInteger();
+
+    @Override
+    public Optional<GeocodeResultDTO> search(String query) {
+        lookups.incrementAndGet();
+        if (query.startsWith("nowhere")) {
+            return Optional.empty();
+        }
+        int hash = query.hashCode();
+        double latitude = 41.85 + Math.floorMod(hash, 1000) / 10000.0;
+        double longitude = 12.45 + Math.floorMod(hash / 1000, 1000) / 10000.0;
+        return Optional.of(new GeocodeResultDTO(query, latitude, longitude));
+    }
+
+    @Override
+    public Optional<GeocodeResultDTO> reverse(double latitude, double longitude) {
+        lookups.incrementAndGet();
+        return Optional.of(new GeocodeResultDTO(
+                String.format(Locale.ROOT, "%.4f, %.4f", latitude, longitude), latitude, longitude));
+    }
+
+    public int getLookupCount() {
+        return lookups.get();
+    }
+}
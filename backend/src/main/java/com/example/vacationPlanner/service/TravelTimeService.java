@@ -0,0 +1,165 @@
+package com.example.vacationPlanner.service;
+
+import com.example.vacationPlanner.model.dto.ActivityDTO;
+import com.example.vacationPlanner.model.dto.TravelTimeDTO;
+import com.example.vacationPlanner.model.dto.TravelTimeMatrixDTO;
+import com.example.vacationPlanner.repository.ActivityRepository;
+import com.example.vacationPlanner.repository.ItineraryRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+@Service
+public class TravelTimeService {
+
+    private static final double EARTH_RADIUS_KM = 6371.0;
+
+    @Autowired
+    private ActivityRepository activityRepository;
+
+    @Autowired
+    private ItineraryRepository itineraryRepository;
+
+    // Average door-to-door speed; 30 km/h matches the estimate the frontend used to make
+    @Value("${travel.speed-kmh:30}")
+    private double speedKmh;
+
+    // Multiplier applied to the great-circle distance to approximate the real route length
+    @Value("${travel.detour-factor:1.0}")
+    private double detourFactor;
+
+    @Value("${travel.min-minutes:5}")
+    private int minMinutes;
+
+    @Value("${travel.max-minutes:120}")
+    private int maxMinutes;
+
+    // Coordinates are snapped to a grid of 1/scale degrees (10_000 ~ 11 m) before caching
+    @Value("${travel.cache.quantization-scale:10000}")
+    private int quantizationScale;
+
+    @Value("${travel.cache.max-entries:10000}")
+    private int cacheMaxEntries;
+
+    // Caffeine rather than a synchronized LRU so lookups never pin a virtual carrier thread
+    private Cache<CellPair, Double> cache;
+
+    @PostConstruct
+    void initCache() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(cacheMaxEntries)
+                .build();
+    }
+
+    public TravelTimeDTO getTravelTime(double fromLat, double fromLng, double toLat, double toLng) {
+        double distanceKm = getDistanceKm(fromLat, fromLng, toLat, toLng);
+        return toDTO(distanceKm, toMinutes(distanceKm));
+    }
+
+    // Empty when the itinerary does not exist, so it is not mistaken for one without located activities
+    public Optional<TravelTimeMatrixDTO> getTravelTimeMatrix(Long itineraryId) {
+        if (!itineraryRepository.existsById(itineraryId)) {
+            return Optional.empty();
+        }
+        List<ActivityDTO> activities = activityRepository.findDTOsByItineraryId(itineraryId).stream()
+                .filter(activity -> activity.getLatitude() != null && activity.getLongitude() != null)
+                .sorted(Comparator.comparing(ActivityDTO::getDate).thenComparing(ActivityDTO::getStartTime))
+                .collect(Collectors.toList());
+
+        int n = activities.size();
+        long[] ids = new long[n];
+        double[] latRad = new double[n];
+        double[] lngRad = new double[n];
+        double[] cosLat = new double[n];
+        for (int i = 0; i < n; i++) {
+            ActivityDTO activity = activities.get(i);
+            ids[i] = activity.getId();
+            latRad[i] = Math.toRadians(activity.getLatitude());
+            lngRad[i] = Math.toRadians(activity.getLongitude());
+            cosLat[i] = Math.cos(latRad[i]);
+        }
+
+        // Travel estimates are symmetric, so only the upper triangle is computed
+        int[][] minutes = new int[n][n];
+        double[][] distances = new double[n][n];
+        for (int i = 0; i < n; i++) {
+            for (int j = i + 1; j < n; j++) {
+                double distanceKm = haversineKm(latRad[i], lngRad[i], cosLat[i], latRad[j], lngRad[j], cosLat[j]);
+                int travelMinutes = toMinutes(distanceKm);
+                distances[i][j] = distanceKm;
+                distances[j][i] = distanceKm;
+                minutes[i][j] = travelMinutes;
+                minutes[j][i] = travelMinutes;
+            }
+        }
+
+        return Optional.of(new TravelTimeMatrixDTO(itineraryId, ids, minutes, distances));
+    }
+
+    public double getDistanceKm(double fromLat, double fromLng, double toLat, double toLng) {
+        int fromLatCell = quantize(fromLat);
+        int fromLngCell = quantize(fromLng);
+        int toLatCell = quantize(toLat);
+        int toLngCell = quantize(toLng);
+
+        // Order the endpoints so A->B and B->A share one cache entry
+        boolean swap = fromLatCell > toLatCell || (fromLatCell == toLatCell && fromLngCell > toLngCell);
+        CellPair key = swap
+                ? new CellPair(toLatCell, toLngCell, fromLatCell, fromLngCell)
+                : new CellPair(fromLatCell, fromLngCell, toLatCell, toLngCell);
+
+        Double cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        double distanceKm = haversineKm(
+                (double) key.fromLat() / quantizationScale, (double) key.fromLng() / quantizationScale,
+                (double) key.toLat() / quantizationScale, (double) key.toLng() / quantizationScale);
+        cache.put(key, distanceKm);
+        return distanceKm;
+    }
+
+    public int toMinutes(double distanceKm) {
+        int travelMinutes = (int) Math.ceil(distanceKm * detourFactor / speedKmh * 60);
+        return Math.max(minMinutes, Math.min(maxMinutes, travelMinutes));
+    }
+
+    public static double haversineKm(double lat1, double lng1, double lat2, double lng2) {
+        double lat1Rad = Math.toRadians(lat1);
+        double lat2Rad = Math.toRadians(lat2);
+        return haversineKm(lat1Rad, Math.toRadians(lng1), Math.cos(lat1Rad),
+                lat2Rad, Math.toRadians(lng2), Math.cos(lat2Rad));
+    }
+
+    static double haversineKm(double lat1Rad, double lng1Rad, double cosLat1,
+                              double lat2Rad, double lng2Rad, double cosLat2) {
+        double sinDLat = Math.sin((lat2Rad - lat1Rad) / 2);
+        double sinDLng = Math.sin((lng2Rad - lng1Rad) / 2);
+        double a = sinDLat * sinDLat + cosLat1 * cosLat2 * sinDLng * sinDLng;
+        return EARTH_RADIUS_KM * 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
+    }
+
+    private int quantize(double degrees) {
+        return (int) Math.round(degrees * quantizationScale);
+    }
+
+    private TravelTimeDTO toDTO(double distanceKm, int travelMinutes) {
+        return new TravelTimeDTO(
+                travelMinutes + " min",
+                String.format(Locale.ROOT, "%.1f km", distanceKm),
+                travelMinutes,
+                distanceKm);
+    }
+
+    private record CellPair(int fromLat, int fromLng, int toLat, int toLng) {
+    }
+}
@@ -1,9 +1,15 @@
 package com.example.vacationPlanner.service;
 
+import com.example.vacationPlanner.config.CacheConfig;
 import com.example.vacationPlanner.model.User;
+import com.example.vacationPlanner.model.dto.UserDTO;
 import com.example.vacationPlanner.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
+import java.util.Objects;
 import java.util.Optional;
 
 @Service
@@ -12,23 +18,48 @@ public class UserService {
     @Autowired
     private UserRepository userRepository;
     
-    public User createOrUpdateUser(User user) {
-        Optional<User> existingUser = userRepository.findByFirebaseUid(user.getFirebaseUid());
+    // The caches hold UserDTO records rather than the managed entity, so nothing a caller does with the result can
+    // change the cached copy, and nothing in it needs an open session
+    @Caching(put = {
+            @CachePut(cacheNames = CacheConfig.USERS_BY_ID, key = "#result.id()"),
+            @CachePut(cacheNames = CacheConfig.USERS_BY_FIREBASE_UID, key = "#result.firebaseUid()")
+    })
+    public UserDTO createOrUpdateUser(UserDTO userDTO) {
+        Optional<User> existingUser = userRepository.findByFirebaseUid(userDTO.firebaseUid());
         if (existingUser.isPresent()) {
             User userToUpdate = existingUser.get();
-            userToUpdate.setEmail(user.getEmail());
-            userToUpdate.setName(user.getName());
-            return userRepository.save(userToUpdate);
+            // Called on every login, so skip the write when the profile hasn't changed
+            if (Objects.equals(userToUpdate.getEmail(), userDTO.email())
+                    && Objects.equals(userToUpdate.getName(), userDTO.name())) {
+                return convertToDTO(userToUpdate);
+            }
+            userToUpdate.setEmail(userDTO.email());
+            userToUpdate.setName(userDTO.name());
+            return convertToDTO(userRepository.save(userToUpdate));
         } else {
-            return userRepository.save(user);
+            User user = new User();
+            user.setFirebaseUid(userDTO.firebaseUid());
+            user.setEmail(userDTO.email());
+            user.setName(userDTO.name());
+            return convertToDTO(userRepository.save(user));
         }
     }
     
-    public Optional<User> getUserByFirebaseUid(String firebaseUid) {
-        return userRepository.findByFirebaseUid(firebaseUid);
+    @Cacheable(cacheNames = CacheConfig.USERS_BY_ID, unless = "#result == null")
+    public Optional<UserDTO> getUserById(Long id) {
+        return userRepository.findById(id).map(this::convertToDTO);
     }
     
-    public Optional<User> getUserByEmail(String email) {
-        return userRepository.findByEmail(email);
+    @Cacheable(cacheNames = CacheConfig.USERS_BY_FIREBASE_UID, unless = "#result == null")
+    public Optional<UserDTO> getUserByFirebaseUid(String firebaseUid) {
+        return userRepository.findByFirebaseUid(firebaseUid).map(this::convertToDTO);
+    }
+    
+    public Optional<UserDTO> getUserByEmail(String email) {
+        return userRepository.findByEmail(email).map(this::convertToDTO);
+    }
+    
+    private UserDTO convertToDTO(User user) {
+        return new UserDTO(user.getId(), user.getFirebaseUid(), user.getEmail(), user.getName());
     }
 }
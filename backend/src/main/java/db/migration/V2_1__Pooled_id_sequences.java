@@ -0,0 +1,36 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+// Switches the activity and itinerary sequences to the blocks of 50 that Activity and Itinerary allocate
+// (allocationSize = 50). Databases baselined at V1 never ran V1's INCREMENT BY 50, so this is where they get it.
+// Done in Java because setval has no portable SQL form: the restart value is computed here and issued as
+// ALTER SEQUENCE ... RESTART WITH, which PostgreSQL and H2 both accept.
+public class V2_1__Pooled_id_sequences extends BaseJavaMigration {
+
+    private static final int ALLOCATION_SIZE = 50;
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        try (Statement statement = connection.createStatement()) {
+            pool(statement, "itineraries", "itineraries_id_seq");
+            pool(statement, "activities", "activities_id_seq");
+        }
+    }
+
+    private static void pool(Statement statement, String table, String sequence) throws Exception {
+        long maxId;
+        try (ResultSet rows = statement.executeQuery("SELECT COALESCE(MAX(id), 0) FROM " + table)) {
+            rows.next();
+            maxId = rows.getLong(1);
+        }
+        statement.execute("ALTER SEQUENCE " + sequence + " INCREMENT BY " + ALLOCATION_SIZE);
+        // The sequence value is the top of the next block, so move it a full block past the highest existing id
+        statement.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + (maxId + ALLOCATION_SIZE));
+    }
+}
@@ -0,0 +1,62 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+// Computes geo_cell for activities stored before V5. The Morton interleaving is done in Java because
+// it has no portable SQL form. It is a frozen copy of GeoCell.encode as of V5, not a call to it, so this
+// migration writes the same codes whenever it runs; a change to the encoding needs a migration of its own.
+public class V6__Backfill_activity_geo_cell extends BaseJavaMigration {
+
+    private static final int BATCH_SIZE = 1000;
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        try (Statement select = connection.createStatement();
+             PreparedStatement update = connection.prepareStatement("UPDATE activities SET geo_cell = ? WHERE id = ?")) {
+            select.setFetchSize(BATCH_SIZE);
+            try (ResultSet rows = select.executeQuery("SELECT id, latitude, longitude FROM activities "
+                    + "WHERE latitude IS NOT NULL AND longitude IS NOT NULL")) {
+                int pending = 0;
+                while (rows.next()) {
+                    update.setLong(1, encode(rows.getDouble(2), rows.getDouble(3)));
+                    update.setLong(2, rows.getLong(1));
+                    update.addBatch();
+                    if (++pending == BATCH_SIZE) {
+                        update.executeBatch();
+                        pending = 0;
+                    }
+                }
+                if (pending > 0) {
+                    update.executeBatch();
+                }
+            }
+        }
+    }
+
+    // 26 bits of latitude and 26 of longitude, interleaved with latitude in the odd bits
+    static long encode(double latitude, double longitude) {
+        return (spread(index((latitude + 90) / 180)) << 1) | spread(index((longitude + 180) / 360));
+    }
+
+    private static int index(double fraction) {
+        long cells = 1L << 26;
+        long index = (long) Math.floor(fraction * cells);
+        return (int) Math.max(0, Math.min(cells - 1, index));
+    }
+
+    private static long spread(int value) {
+        long x = value & 0xFFFFFFFFL;
+        x = (x | (x << 16)) & 0x0000FFFF0000FFFFL;
+        x = (x | (x << 8)) & 0x00FF00FF00FF00FFL;
+        x = (x | (x << 4)) & 0x0F0F0F0F0F0F0F0FL;
+        x = (x | (x << 2)) & 0x3333333333333333L;
+        x = (x | (x << 1)) & 0x5555555555555555L;
+        return x;
+    }
+}
@@ -0,0 +1,39 @@
+-- Schema for fresh installs, matching the entities as of the switch to pooled id sequences
+-- Databases created before Flyway was introduced are baselined at this version (spring.flyway.baseline-on-migrate)
+
+CREATE TABLE users (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    firebase_uid VARCHAR(255) NOT NULL UNIQUE,
+    email VARCHAR(255) NOT NULL,
+    name VARCHAR(255) NOT NULL
+);
+
+CREATE SEQUENCE itineraries_id_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE itineraries (
+    id BIGINT PRIMARY KEY,
+    name VARCHAR(255) NOT NULL,
+    location VARCHAR(255) NOT NULL,
+    start_date DATE NOT NULL,
+    end_date DATE NOT NULL,
+    notes TEXT,
+    user_id BIGINT NOT NULL,
+    CONSTRAINT fk_itineraries_user FOREIGN KEY (user_id) REFERENCES users(id)
+);
+
+CREATE SEQUENCE activities_id_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE activities (
+    id BIGINT PRIMARY KEY,
+    name VARCHAR(255) NOT NULL,
+    location VARCHAR(255) NOT NULL,
+    start_time TIME NOT NULL,
+    duration INTEGER NOT NULL,
+    cost NUMERIC(38,2) NOT NULL,
+    date DATE NOT NULL,
+    latitude DOUBLE PRECISION,
+    longitude DOUBLE PRECISION,
+    notes TEXT,
+    itinerary_id BIGINT NOT NULL,
+    CONSTRAINT fk_activities_itinerary FOREIGN KEY (itinerary_id) REFERENCES itineraries(id)
+);
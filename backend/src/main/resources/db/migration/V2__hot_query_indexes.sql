@@ -0,0 +1,9 @@
+-- Composite indexes for the listing queries:
+--   activities: findByItineraryId, findByItineraryIdAndDateOrderByStartTime, keyset pages, deleteByItineraryId
+--   itineraries: findByUserId and its keyset pages ordered by start_date
+CREATE INDEX IF NOT EXISTS idx_activities_itinerary_date_start ON activities (itinerary_id, date, start_time, id);
+CREATE INDEX IF NOT EXISTS idx_itineraries_user_start ON itineraries (user_id, start_date, id);
+
+-- The single-column indexes from database_setup.sql are prefixes of the composites above
+DROP INDEX IF EXISTS idx_activities_itinerary_id;
+DROP INDEX IF EXISTS idx_itineraries_user_id;
@@ -0,0 +1,3 @@
+-- Version columns for optimistic locking (@Version on Activity and Itinerary)
+ALTER TABLE activities ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE itineraries ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,9 @@
+-- Shared cache of geocoding results (GeocodingService). cache_key is "search:<normalized query>" or
+-- "reverse:<lat cell>,<lng cell>"; a row without coordinates records that the provider found nothing.
+CREATE TABLE IF NOT EXISTS geocode_cache (
+    cache_key VARCHAR(300) PRIMARY KEY,
+    display_name TEXT,
+    latitude DOUBLE PRECISION,
+    longitude DOUBLE PRECISION,
+    created_at TIMESTAMP NOT NULL
+);
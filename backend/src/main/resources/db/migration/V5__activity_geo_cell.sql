@@ -0,0 +1,3 @@
+-- Z-order cell of (latitude, longitude) for the nearby search; see GeoCell. V6 fills it for existing rows.
+ALTER TABLE activities ADD COLUMN geo_cell BIGINT;
+CREATE INDEX IF NOT EXISTS idx_activities_geo_cell ON activities (geo_cell);
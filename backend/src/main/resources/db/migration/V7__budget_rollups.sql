@@ -0,0 +1,19 @@
+-- Budget figures per itinerary and day. ActivityService applies each write to the touched rows as a delta in
+-- the same transaction; BudgetRollupService periodically re-aggregates the activities and repairs any drift.
+-- min_cost/max_cost cannot be maintained by deltas when an activity is removed, so those recompute that one day.
+CREATE TABLE IF NOT EXISTS budget_rollups (
+    itinerary_id BIGINT NOT NULL,
+    date DATE NOT NULL,
+    total_cost NUMERIC(38,2) NOT NULL,
+    activity_count BIGINT NOT NULL,
+    total_duration BIGINT NOT NULL,
+    min_cost NUMERIC(38,2),
+    max_cost NUMERIC(38,2),
+    PRIMARY KEY (itinerary_id, date),
+    CONSTRAINT fk_budget_rollups_itinerary FOREIGN KEY (itinerary_id) REFERENCES itineraries(id) ON DELETE CASCADE
+);
+
+INSERT INTO budget_rollups (itinerary_id, date, total_cost, activity_count, total_duration, min_cost, max_cost)
+SELECT itinerary_id, date, SUM(cost), COUNT(*), SUM(duration), MIN(cost), MAX(cost)
+FROM activities
+GROUP BY itinerary_id, date;
@@ -0,0 +1,3 @@
+-- A geocode_cache row is rewritten when an expired "not found" entry is looked up again, so the timestamp records
+-- when the provider last answered rather than when the row was first created.
+ALTER TABLE geocode_cache RENAME COLUMN created_at TO resolved_at;
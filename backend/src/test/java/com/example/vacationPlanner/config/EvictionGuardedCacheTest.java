@@ -0,0 +1,50 @@
+package com.example.vacationPlanner.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class EvictionGuardedCacheTest {
+
+    private final EvictionGuardedCache cache = new EvictionGuardedCache(new ConcurrentMapCache("activitiesByItinerary"));
+
+    @Test
+    void readThatMissedBeforeAnEvictionDoesNotCacheItsRows() {
+        assertNull(cache.get(1L));
+        // The write commits and CacheInvalidator evicts while the read is still loading the old rows
+        cache.evict(1L);
+        cache.put(1L, "rows before the write");
+
+        assertNull(cache.get(1L));
+        cache.put(1L, "rows after the write");
+        assertEquals("rows after the write", cache.get(1L).get());
+    }
+
+    @Test
+    void evictionOfAnotherKeyOrNoEvictionLeavesThePutAlone() {
+        assertNull(cache.get(1L));
+        cache.evict(2L);
+        cache.put(1L, "rows");
+
+        assertEquals("rows", cache.get(1L).get());
+    }
+
+    @Test
+    void clearTurnsAwayEveryPendingPut() {
+        assertNull(cache.get(1L));
+        cache.clear();
+        cache.put(1L, "rows before the clear");
+
+        assertNull(cache.get(1L));
+    }
+
+    @Test
+    void putsWithoutAPrecedingMissGoThrough() {
+        cache.evict(1L);
+        cache.put(1L, "from @CachePut");
+
+        assertEquals("from @CachePut", cache.get(1L).get());
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.vacationPlanner.controller;
+
+import com.example.vacationPlanner.model.dto.ActivityDTO;
+import com.example.vacationPlanner.model.dto.ScheduleConflictDTO;
+import com.example.vacationPlanner.service.ActivityService;
+import com.example.vacationPlanner.service.CacheInvalidator;
+import com.example.vacationPlanner.service.NearbyActivityService;
+import com.example.vacationPlanner.service.ScheduleConflictException;
+import com.example.vacationPlanner.service.TravelTimeService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static org.hamcrest.Matchers.matchesPattern;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(ActivityController.class)
+class ActivityControllerTest {
+
+    private static final ScheduleConflictDTO OVERLAP = new ScheduleConflictDTO(ScheduleConflictDTO.Type.OVERLAP,
+            LocalDate.of(2024, 6, 1), 11L, 12L, 30, null, null, null);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private ActivityService activityService;
+
+    @MockitoBean
+    private TravelTimeService travelTimeService;
+
+    @MockitoBean
+    private NearbyActivityService nearbyActivityService;
+
+    @MockitoBean
+    private CacheInvalidator cacheInvalidator;
+
+    @Test
+    void conflictingCreateReturnsTheConflictsWith409() throws Exception {
+        when(activityService.createActivity(any(ActivityDTO.class)))
+                .thenThrow(new ScheduleConflictException(List.of(OVERLAP)));
+
+        mockMvc.perform(post("/api/activities").contentType(MediaType.APPLICATION_JSON).content("{\"name\":\"Museum\"}"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].type").value("OVERLAP"))
+                .andExpect(jsonPath("$[0].date").value("2024-06-01"))
+                .andExpect(jsonPath("$[0].firstActivityId").value(11))
+                .andExpect(jsonPath("$[0].secondActivityId").value(12))
+                .andExpect(jsonPath("$[0].overlapMinutes").value(30));
+    }
+
+    @Test
+    void conflictingBulkCreateReturnsTheConflictsWith409() throws Exception {
+        when(activityService.createActivities(anyList()))
+                .thenThrow(new ScheduleConflictException(List.of(OVERLAP)));
+
+        mockMvc.perform(post("/api/activities/bulk").contentType(MediaType.APPLICATION_JSON).content("[{\"name\":\"Museum\"}]"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$[0].firstActivityId").value(11))
+                .andExpect(jsonPath("$[0].secondActivityId").value(12));
+    }
+
+    @Test
+    void otherFailuresStayBadRequests() throws Exception {
+        when(activityService.createActivity(any(ActivityDTO.class))).thenThrow(new RuntimeException("Itinerary not found"));
+
+        mockMvc.perform(post("/api/activities").contentType(MediaType.APPLICATION_JSON).content("{\"name\":\"Museum\"}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void travelTimeMatrixOfAnUnknownItineraryIsNotFound() throws Exception {
+        when(travelTimeService.getTravelTimeMatrix(1L)).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/api/activities/travel-time/matrix/1"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void streamDefaultsToNdjson() throws Exception {
+        streamTwoActivities();
+
+        stream(get("/api/activities/stream").param("itineraryId", "1"))
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(matchesPattern("\\{\"id\":1,[^\n]*\"First\"[^\n]*}\n\\{\"id\":2,[^\n]*\"Second\"[^\n]*}")));
+        stream(get("/api/activities/stream").param("itineraryId", "1").accept(MediaType.ALL))
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON));
+        stream(get("/api/activities/stream").param("itineraryId", "1").header("Accept", "application/x-ndjson, application/json"))
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON));
+    }
+
+    @Test
+    void streamIsAJsonArrayWhenJsonIsPreferred() throws Exception {
+        streamTwoActivities();
+
+        stream(get("/api/activities/stream").param("itineraryId", "1").accept(MediaType.APPLICATION_JSON))
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[1].name").value("Second"));
+        stream(get("/api/activities/stream").param("itineraryId", "1").header("Accept", "application/x-ndjson;q=0.5, application/json"))
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON));
+    }
+
+    private void streamTwoActivities() {
+        doAnswer(invocation -> {
+            Consumer<ActivityDTO> consumer = invocation.getArgument(1);
+            consumer.accept(named(1L, "First"));
+            consumer.accept(named(2L, "Second"));
+            return null;
+        }).when(activityService).streamActivitiesByItineraryId(eq(1L), any());
+    }
+
+    private ResultActions stream(MockHttpServletRequestBuilder builder) throws Exception {
+        MvcResult result = mockMvc.perform(builder).andExpect(request().asyncStarted()).andReturn();
+        return mockMvc.perform(asyncDispatch(result)).andExpect(status().isOk());
+    }
+
+    private static ActivityDTO named(Long id, String name) {
+        ActivityDTO activity = new ActivityDTO();
+        activity.setId(id);
+        activity.setName(name);
+        return activity;
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.vacationPlanner.controller;
+
+import com.example.vacationPlanner.model.Activity;
+import com.example.vacationPlanner.model.dto.ItineraryDTO;
+import com.example.vacationPlanner.service.CacheInvalidator;
+import com.example.vacationPlanner.service.ItineraryEventBus;
+import com.example.vacationPlanner.service.ItineraryService;
+import com.example.vacationPlanner.service.RouteOptimizationService;
+import com.example.vacationPlanner.service.ScheduleValidationService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import java.time.LocalDate;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(ItineraryController.class)
+class ItineraryControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private ItineraryService itineraryService;
+
+    @MockitoBean
+    private CacheInvalidator cacheInvalidator;
+
+    @MockitoBean
+    private RouteOptimizationService routeOptimizationService;
+
+    @MockitoBean
+    private ScheduleValidationService scheduleValidationService;
+
+    @MockitoBean
+    private ItineraryEventBus itineraryEventBus;
+
+    @Test
+    void appliedOptimizationThatRacesAnEditIsAPreconditionFailure() throws Exception {
+        when(itineraryService.getItineraryById(1L)).thenReturn(Optional.of(new ItineraryDTO()));
+        when(routeOptimizationService.optimizeDay(eq(1L), eq(LocalDate.of(2024, 6, 1)), any(), eq(true)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Activity.class, 7L));
+
+        mockMvc.perform(post("/api/itineraries/1/days/2024-06-01/optimize").param("apply", "true"))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    void optimizingADayOfAnUnknownItineraryIsNotFound() throws Exception {
+        when(itineraryService.getItineraryById(1L)).thenReturn(Optional.empty());
+
+        mockMvc.perform(post("/api/itineraries/1/days/2024-06-01/optimize"))
+                .andExpect(status().isNotFound());
+        verifyNoInteractions(routeOptimizationService);
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.vacationPlanner.controller;
+
+import com.example.vacationPlanner.model.Activity;
+import com.example.vacationPlanner.model.Itinerary;
+import com.example.vacationPlanner.model.User;
+import com.example.vacationPlanner.model.dto.ActivityDTO;
+import com.example.vacationPlanner.model.dto.BudgetSummaryDTO;
+import com.example.vacationPlanner.model.dto.ItineraryDTO;
+import com.example.vacationPlanner.repository.ActivityRepository;
+import com.example.vacationPlanner.repository.ItineraryRepository;
+import com.example.vacationPlanner.repository.UserRepository;
+import com.example.vacationPlanner.service.BudgetRollupService;
+import com.example.vacationPlanner.service.ItineraryService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("reactive")
+class ReactiveApiTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItineraryRepository itineraryRepository;
+
+    @Autowired
+    private ActivityRepository activityRepository;
+
+    @Autowired
+    private ItineraryService itineraryService;
+
+    @Autowired
+    private BudgetRollupService budgetRollupService;
+
+    private User user;
+    private Itinerary itinerary;
+
+    @BeforeEach
+    void seed() {
+        user = new User();
+        user.setFirebaseUid("reactive-api-test");
+        user.setEmail("reactive@example.com");
+        user.setName("Reactive");
+        user = userRepository.save(user);
+
+        itinerary = new Itinerary();
+        itinerary.setName("Rome");
+        itinerary.setLocation("Rome");
+        itinerary.setStartDate(LocalDate.of(2024, 6, 1));
+        itinerary.setEndDate(LocalDate.of(2024, 6, 2));
+        itinerary.setUser(user);
+        itinerary = itineraryRepository.save(itinerary);
+
+        List<Activity> activities = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            Activity activity = new Activity();
+            activity.setName("Activity " + i);
+            activity.setLocation("Stop " + i);
+            activity.setStartTime(LocalTime.of(8 + i % 10, 0));
+            activity.setDuration(60);
+            activity.setCost(new BigDecimal("2.50"));
+            activity.setDate(LocalDate.of(2024, 6, 1 + i % 2));
+            activity.setItinerary(itinerary);
+            activities.add(activity);
+        }
+        activityRepository.saveAll(activities);
+        // Saved behind ActivityService's back, so bring the budget rollups up to date like the reconciler would
+        budgetRollupService.reconcile(List.of(itinerary.getId()));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        itineraryService.deleteItinerariesByUserId(user.getId());
+        userRepository.delete(user);
+    }
+
+    @Test
+    void streamsActivitiesWithBackpressure() {
+        Flux<ActivityDTO> activities = webTestClient.get()
+                .uri("/api/activities/stream?itineraryId={id}", itinerary.getId())
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(ActivityDTO.class)
+                .getResponseBody();
+
+        // Request in small batches; every row still arrives exactly once and in order
+        StepVerifier.create(activities, 10)
+                .expectNextCount(10)
+                .thenRequest(290)
+                .expectNextCount(290)
+                .verifyComplete();
+    }
+
+    @Test
+    void servesTheSameDTOsAsTheServletStack() {
+        webTestClient.get().uri("/api/activities?itineraryId={id}", itinerary.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(ActivityDTO.class).hasSize(300);
+
+        BudgetSummaryDTO summary = webTestClient.get().uri("/api/activities/budget/summary/{id}", itinerary.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(BudgetSummaryDTO.class)
+                .returnResult().getResponseBody();
+        assertEquals(0, new BigDecimal("750.00").compareTo(summary.getTotalCost()));
+        assertEquals(300L, summary.getActivityCount());
+        assertEquals(2, summary.getDaily().size());
+
+        webTestClient.get().uri("/api/itineraries?userId={id}", user.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(ItineraryDTO.class).hasSize(1);
+
+        webTestClient.get().uri("/api/itineraries/{id}", Long.MAX_VALUE)
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+}
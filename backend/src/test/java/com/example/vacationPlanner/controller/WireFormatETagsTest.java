@@ -0,0 +1,37 @@
+package com.example.vacationPlanner.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class WireFormatETagsTest {
+
+    @Test
+    void eachEncodingGetsItsOwnTag() {
+        assertEquals("1-7", WireFormatETags.of("1-7", accepting(null)));
+        assertEquals("1-7", WireFormatETags.of("1-7", accepting("*/*")));
+        assertEquals("1-7", WireFormatETags.of("1-7", accepting("application/json, application/cbor")));
+        assertEquals("1-7-cbor", WireFormatETags.of("1-7", accepting("application/cbor")));
+        assertEquals("1-7-cbor", WireFormatETags.of("1-7", accepting("application/json;q=0.5, application/cbor")));
+        assertEquals("1-7-smile", WireFormatETags.of("1-7", accepting("application/x-jackson-smile, */*;q=0.1")));
+        assertEquals("\"3-cbor\"", VersionETags.of(3L, accepting("application/cbor")));
+    }
+
+    @Test
+    void ifMatchIsCheckedAgainstTheVersionWhateverTheEncoding() {
+        assertEquals(3L, VersionETags.parseIfMatch("\"3\""));
+        assertEquals(3L, VersionETags.parseIfMatch("\"3-cbor\""));
+        assertEquals(3L, VersionETags.parseIfMatch("W/\"3-smile\""));
+    }
+
+    private static WebRequest accepting(String accept) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        if (accept != null) {
+            request.addHeader("Accept", accept);
+        }
+        return new ServletWebRequest(request);
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.vacationPlanner.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import java.sql.Date;
+import java.sql.Time;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@JdbcTest
+@TestPropertySource(properties =
+        "spring.datasource.url=jdbc:h2:mem:query_plan;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH")
+class QueryPlanTest {
+
+    private static final int USERS = 20;
+    private static final int ITINERARIES_PER_USER = 10;
+    private static final int ACTIVITIES_PER_ITINERARY = 40;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void seed() {
+        if (jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users", Integer.class) > 0) {
+            return;
+        }
+
+        List<Object[]> users = new ArrayList<>();
+        List<Object[]> itineraries = new ArrayList<>();
+        List<Object[]> activities = new ArrayList<>();
+        long itineraryId = 0;
+        long activityId = 0;
+        for (long userId = 1; userId <= USERS; userId++) {
+            users.add(new Object[]{userId, "uid-" + userId, "user" + userId + "@example.com", "User " + userId});
+            for (int i = 0; i < ITINERARIES_PER_USER; i++) {
+                itineraryId++;
+                LocalDate start = LocalDate.of(2024, 1, 1).plusDays(itineraryId);
+                itineraries.add(new Object[]{itineraryId, "Trip", "Rome", Date.valueOf(start), Date.valueOf(start.plusDays(4)), userId});
+                for (int a = 0; a < ACTIVITIES_PER_ITINERARY; a++) {
+                    activityId++;
+                    activities.add(new Object[]{activityId, "Activity", "Stop", Time.valueOf(LocalTime.of(8 + a % 10, 0)),
+                            60, 10, Date.valueOf(start.plusDays(a % 5)), itineraryId});
+                }
+            }
+        }
+
+        jdbcTemplate.batchUpdate("INSERT INTO users (id, firebase_uid, email, name) VALUES (?, ?, ?, ?)", users);
+        jdbcTemplate.batchUpdate("INSERT INTO itineraries (id, name, location, start_date, end_date, user_id) "
+                + "VALUES (?, ?, ?, ?, ?, ?)", itineraries);
+        jdbcTemplate.batchUpdate("INSERT INTO activities (id, name, location, start_time, duration, cost, date, itinerary_id) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)", activities);
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @Test
+    void activitiesByItineraryAndDateUseCompositeIndex() {
+        String plan = explain("SELECT * FROM activities WHERE itinerary_id = 7 AND date = DATE '2024-01-10' ORDER BY start_time");
+        assertTrue(plan.contains("idx_activities_itinerary_date_start"), plan);
+    }
+
+    @Test
+    void activityKeysetPageUsesCompositeIndex() {
+        String plan = explain("SELECT * FROM activities WHERE itinerary_id = 7 AND date > DATE '2024-01-09' "
+                + "ORDER BY date, start_time, id FETCH FIRST 100 ROWS ONLY");
+        assertTrue(plan.contains("idx_activities_itinerary_date_start"), plan);
+    }
+
+    @Test
+    void itineraryKeysetPageUsesCompositeIndex() {
+        String plan = explain("SELECT * FROM itineraries WHERE user_id = 3 AND start_date > DATE '2024-01-25' "
+                + "ORDER BY start_date, id FETCH FIRST 100 ROWS ONLY");
+        assertTrue(plan.contains("idx_itineraries_user_start"), plan);
+    }
+
+    @Test
+    void geoCellRangeUsesGeoCellIndex() {
+        String plan = explain("SELECT * FROM activities WHERE geo_cell BETWEEN 1000 AND 2000 "
+                + "AND latitude BETWEEN 41.8 AND 42.0");
+        assertTrue(plan.contains("idx_activities_geo_cell"), plan);
+    }
+
+    private String explain(String sql) {
+        return String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class));
+    }
+}
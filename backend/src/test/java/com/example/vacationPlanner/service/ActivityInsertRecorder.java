@@ -0,0 +1,79 @@
+package com.example.vacationPlanner.service;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Wraps the DataSource to record how activity rows reach the database: rows added to JDBC batches, batches
+// executed, inserts sent one by one, and id blocks taken from activities_id_seq
+class ActivityInsertRecorder implements BeanPostProcessor {
+
+    final AtomicInteger batchedRows = new AtomicInteger();
+    final AtomicInteger batches = new AtomicInteger();
+    final AtomicInteger singleInserts = new AtomicInteger();
+    final AtomicInteger sequenceCalls = new AtomicInteger();
+
+    void reset() {
+        batchedRows.set(0);
+        batches.set(0);
+        singleInserts.set(0);
+        sequenceCalls.set(0);
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource) {
+            return proxy(DataSource.class, dataSource, (method, result, args) ->
+                    method.getName().equals("getConnection") ? connection((Connection) result) : result);
+        }
+        return bean;
+    }
+
+    private Connection connection(Connection connection) {
+        return proxy(Connection.class, connection, (method, result, args) -> {
+            if (!method.getName().equals("prepareStatement")) {
+                return result;
+            }
+            String sql = ((String) args[0]).trim().toLowerCase(Locale.ROOT);
+            if (sql.contains("activities_id_seq")) {
+                sequenceCalls.incrementAndGet();
+            }
+            return sql.startsWith("insert into activities ") ? insert((PreparedStatement) result) : result;
+        });
+    }
+
+    private PreparedStatement insert(PreparedStatement statement) {
+        return proxy(PreparedStatement.class, statement, (method, result, args) -> {
+            switch (method.getName()) {
+                case "addBatch" -> batchedRows.incrementAndGet();
+                case "executeBatch" -> batches.incrementAndGet();
+                case "execute", "executeUpdate", "executeLargeUpdate" -> singleInserts.incrementAndGet();
+                default -> { }
+            }
+            return result;
+        });
+    }
+
+    private interface AfterCall {
+        Object apply(Method method, Object result, Object[] args);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, T target, AfterCall afterCall) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            try {
+                return afterCall.apply(method, method.invoke(target, args), args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        };
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+}
@@ -0,0 +1,178 @@
+package com.example.vacationPlanner.service;
+
+import com.example.vacationPlanner.model.Itinerary;
+import com.example.vacationPlanner.model.dto.ActivityDTO;
+import com.example.vacationPlanner.model.dto.CursorPageDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import java.math.BigDecimal;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ServiceSliceTest
+class ActivityServiceTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ServiceFixtures fixtures;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ActivityService activityService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ActivityInsertRecorder insertRecorder;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size}")
+    private int batchSize;
+
+    @Test
+    void listingActivitiesUsesConstantStatementCount() {
+        Itinerary small = persistItinerary(10);
+        Itinerary large = persistItinerary(1000);
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        statistics.clear();
+        List<ActivityDTO> smallListing = activityService.getActivitiesByItineraryId(small.getId());
+        long smallStatements = statistics.getPrepareStatementCount();
+
+        statistics.clear();
+        List<ActivityDTO> largeListing = activityService.getActivitiesByItineraryId(large.getId());
+        long largeStatements = statistics.getPrepareStatementCount();
+
+        assertEquals(10, smallListing.size());
+        assertEquals(1000, largeListing.size());
+        assertEquals(large.getId(), largeListing.get(0).getItineraryId());
+        assertEquals(1, largeStatements);
+        assertEquals(smallStatements, largeStatements);
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(1010, meterRegistry.get("vacationplanner.rows.returned")
+                .tag("query", "activities.byItinerary").counter().count());
+    }
+
+    @Test
+    void keysetPagesCoverEveryActivityOnce() {
+        Itinerary itinerary = persistItinerary(250);
+        entityManager.flush();
+        entityManager.clear();
+
+        Set<Long> seen = new HashSet<>();
+        List<ActivityDTO> ordered = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            CursorPageDTO<ActivityDTO> page = activityService.getActivityPage(itinerary.getId(), cursor, 100);
+            page.getItems().forEach(activity -> assertTrue(seen.add(activity.getId())));
+            ordered.addAll(page.getItems());
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(3, pages);
+        assertEquals(250, seen.size());
+        for (int i = 1; i < ordered.size(); i++) {
+            ActivityDTO previous = ordered.get(i - 1);
+            ActivityDTO current = ordered.get(i);
+            assertTrue(!current.getDate().isBefore(previous.getDate()));
+        }
+
+        List<ActivityDTO> streamed = new ArrayList<>();
+        activityService.streamActivitiesByItineraryId(itinerary.getId(), streamed::add);
+        assertEquals(ordered, streamed);
+    }
+
+    @Test
+    void bulkCreateWritesInJdbcBatches() {
+        Itinerary itinerary = persistItinerary(0);
+        entityManager.flush();
+        entityManager.clear();
+
+        List<ActivityDTO> activityDTOs = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            activityDTOs.add(ServiceFixtures.newActivity(itinerary.getId(), "Activity " + i,
+                    ServiceFixtures.DAY.plusDays(i / 12), LocalTime.of(8 + i % 12, 0), 60, BigDecimal.TEN));
+        }
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        insertRecorder.reset();
+        List<ActivityDTO> created = activityService.createActivities(activityDTOs);
+        entityManager.flush();
+
+        assertEquals(5000, created.size());
+        assertEquals(5000, statistics.getEntityInsertCount());
+        // Every row goes through a full JDBC batch, none is inserted on its own
+        assertEquals(5000, insertRecorder.batchedRows.get());
+        assertEquals(5000 / batchSize, insertRecorder.batches.get());
+        assertEquals(0, insertRecorder.singleInserts.get());
+        // One sequence call per block of 50 ids (allocationSize); a block left part-used by an earlier test still
+        // leaves 100 blocks to fetch
+        assertEquals(5000 / 50, insertRecorder.sequenceCalls.get());
+    }
+
+    @Test
+    void patchChangesOnlySuppliedFieldsAndBumpsVersion() {
+        Itinerary itinerary = persistItinerary(1);
+        entityManager.flush();
+        entityManager.clear();
+        ActivityDTO original = activityService.getActivitiesByItineraryId(itinerary.getId()).get(0);
+
+        ActivityDTO changes = new ActivityDTO();
+        changes.setNotes("Book ahead");
+        ActivityDTO patched = activityService.patchActivity(original.getId(), changes, original.getVersion());
+
+        assertEquals("Book ahead", patched.getNotes());
+        assertEquals(original.getName(), patched.getName());
+        assertEquals(original.getCost(), patched.getCost());
+        assertEquals(original.getVersion() + 1, patched.getVersion());
+    }
+
+    @Test
+    void staleVersionIsRejected() {
+        Itinerary itinerary = persistItinerary(1);
+        entityManager.flush();
+        entityManager.clear();
+        ActivityDTO original = activityService.getActivitiesByItineraryId(itinerary.getId()).get(0);
+
+        ActivityDTO changes = new ActivityDTO();
+        changes.setName("Renamed");
+        activityService.patchActivity(original.getId(), changes, original.getVersion());
+
+        assertThrows(ObjectOptimisticLockingFailureException.class,
+                () -> activityService.updateActivity(original.getId(), original, original.getVersion()));
+    }
+
+    private Itinerary persistItinerary(int activityCount) {
+        Itinerary itinerary = fixtures.persistItinerary("uid-" + activityCount);
+        for (int i = 0; i < activityCount; i++) {
+            fixtures.persistActivity(itinerary, "Activity " + i, ServiceFixtures.DAY.plusDays(i % 5),
+                    LocalTime.of(8, 0).plusMinutes(i % 600), 30, BigDecimal.valueOf(i % 50, 1),
+                    41.89 + i * 0.0001, 12.49 + i * 0.0001);
+        }
+        return itinerary;
+    }
+}
@@ -0,0 +1,232 @@
+package com.example.vacationPlanner.service;
+
+import com.example.vacationPlanner.model.Activity;
+import com.example.vacationPlanner.model.Itinerary;
+import com.example.vacationPlanner.model.dto.ActivityDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.math.BigDecimal;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static com.example.vacationPlanner.service.ServiceFixtures.DAY;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ServiceSliceTest
+@TestPropertySource(properties = {"activity.write-behind.enabled=true", "activity.write-behind.capacity=2"})
+// Queued edits leave the queue when the write that supersedes them commits, so every call commits here
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ActivityWriteBehindTest {
+
+    @Autowired
+    private ServiceFixtures fixtures;
+
+    @Autowired
+    private ActivityService activityService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @AfterEach
+    void deleteCommittedRows() {
+        jdbcTemplate.update("delete from budget_rollups");
+        jdbcTemplate.update("delete from activities");
+        jdbcTemplate.update("delete from itineraries");
+        jdbcTemplate.update("delete from users");
+    }
+
+    @Test
+    void coalescedEditsAreHeldBackAndWrittenInOneBatch() {
+        List<Activity> activities = persistActivities(3);
+        Long first = activities.get(0).getId();
+        Long second = activities.get(1).getId();
+        long batchesBefore = meterRegistry.get("vacationplanner.activity.write-behind.flush").timer().count();
+
+        assertTrue(activityService.deferPatch(first, edit(LocalTime.of(7, 0), null)));
+        assertTrue(activityService.deferPatch(first, edit(null, "Bring water")));
+        assertTrue(activityService.deferPatch(second, edit(null, "Closed on Mondays")));
+        // Full queue, and edits beyond start time / notes, are left to the synchronous path
+        assertFalse(activityService.deferPatch(activities.get(2).getId(), edit(null, "Third")));
+        ActivityDTO costChange = new ActivityDTO();
+        costChange.setCost(BigDecimal.ONE);
+        assertFalse(activityService.deferPatch(first, costChange));
+        assertEquals(2, depth());
+        assertNull(activityService.getActivityById(first).orElseThrow().getNotes());
+
+        activityService.flushDeferredEdits();
+
+        ActivityDTO written = activityService.getActivityById(first).orElseThrow();
+        assertEquals(LocalTime.of(7, 0), written.getStartTime());
+        assertEquals("Bring water", written.getNotes());
+        assertEquals("Closed on Mondays", activityService.getActivityById(second).orElseThrow().getNotes());
+        assertEquals(0, depth());
+        assertEquals(batchesBefore + 1, meterRegistry.get("vacationplanner.activity.write-behind.flush").timer().count());
+    }
+
+    @Test
+    void synchronousWritesSupersedeQueuedEdits() {
+        List<Activity> activities = persistActivities(2);
+        Long patched = activities.get(0).getId();
+        Long deleted = activities.get(1).getId();
+        double droppedBefore = dropped();
+
+        activityService.deferPatch(patched, edit(LocalTime.of(16, 0), "Queued"));
+        activityService.deferPatch(deleted, edit(null, "Queued"));
+        ActivityDTO result = activityService.patchActivity(patched, edit(null, "Sent later"), null);
+        activityService.deleteActivity(deleted);
+
+        assertEquals(LocalTime.of(16, 0), result.getStartTime());
+        assertEquals("Sent later", result.getNotes());
+        assertEquals(0, depth());
+        activityService.flushDeferredEdits();
+        assertEquals(droppedBefore, dropped());
+    }
+
+    @Test
+    void editsOfActivitiesDeletedBehindTheQueueAreDropped() {
+        Activity activity = persistActivities(1).get(0);
+        double droppedBefore = dropped();
+
+        activityService.deferPatch(activity.getId(), edit(null, "Too late"));
+        jdbcTemplate.update("delete from activities where id = ?", activity.getId());
+        activityService.flushDeferredEdits();
+
+        assertEquals(0, depth());
+        assertEquals(droppedBefore + 1, dropped());
+    }
+
+    @Test
+    void rejectedSynchronousWriteLeavesQueuedEditInPlace() {
+        Activity activity = persistActivities(1).get(0);
+
+        assertTrue(activityService.deferPatch(activity.getId(), edit(null, "Queued")));
+        assertThrows(ObjectOptimisticLockingFailureException.class,
+                () -> activityService.patchActivity(activity.getId(), edit(null, "Stale"), activity.getVersion() + 1));
+        assertEquals(1, depth());
+
+        activityService.flushDeferredEdits();
+        assertEquals("Queued", activityService.getActivityById(activity.getId()).orElseThrow().getNotes());
+    }
+
+    @Test
+    void queuedEditDoesNotOverwriteAWriteThatRacedIt() {
+        List<Activity> activities = persistActivities(2);
+        Long raced = activities.get(0).getId();
+        Long untouched = activities.get(1).getId();
+        double droppedBefore = dropped();
+
+        activityService.deferPatch(raced, edit(LocalTime.of(7, 0), "Queued"));
+        activityService.deferPatch(untouched, edit(null, "Queued"));
+        // A synchronous write that commits after the edit was queued, but before the queue let go of it
+        jdbcTemplate.update("update activities set notes = 'Written meanwhile', version = version + 1 where id = ?",
+                raced);
+        activityService.flushDeferredEdits();
+
+        ActivityDTO racedActivity = activityService.getActivityById(raced).orElseThrow();
+        assertEquals("Written meanwhile", racedActivity.getNotes());
+        assertEquals(LocalTime.of(8, 0), racedActivity.getStartTime());
+        assertEquals("Queued", activityService.getActivityById(untouched).orElseThrow().getNotes());
+        assertEquals(droppedBefore + 1, dropped());
+    }
+
+    @Test
+    void editsOfUnknownActivitiesAreNotQueued() {
+        assertFalse(activityService.deferPatch(-1L, edit(null, "Nowhere")));
+        assertEquals(0, depth());
+    }
+
+    @Test
+    void editQueuedDuringAFlushFollowsTheFlushedWrite() {
+        ActivityEditQueue queue = new ActivityEditQueue(10);
+        queue.offer(1L, edit(null, "Queued during flush"), 3L);
+        queue.rebase(1L, 3L, 4L);
+        queue.rebase(1L, 3L, 5L);
+
+        ActivityDTO rebased = queue.drain(10).get(1L);
+        assertEquals(4L, rebased.getVersion());
+        assertEquals("Queued during flush", rebased.getNotes());
+    }
+
+    @Test
+    void editMadeAgainstANewerVersionReplacesTheQueuedOne() {
+        ActivityEditQueue queue = new ActivityEditQueue(10);
+        queue.offer(1L, edit(LocalTime.NOON, "Superseded"), 3L);
+        queue.offer(1L, edit(null, "After the write"), 4L);
+
+        ActivityDTO queued = queue.drain(10).get(1L);
+        assertEquals(4L, queued.getVersion());
+        assertNull(queued.getStartTime());
+        assertEquals("After the write", queued.getNotes());
+        assertEquals(0, queue.depth());
+    }
+
+    @Test
+    void closedQueueStillDrainsButTakesNothingNew() {
+        ActivityEditQueue queue = new ActivityEditQueue(10);
+        queue.offer(1L, edit(null, "Before shutdown"), 0L);
+        queue.close();
+
+        assertFalse(queue.offer(2L, edit(null, "After shutdown"), 0L));
+        Map<Long, ActivityDTO> drained = queue.drain(10);
+        assertEquals(1, drained.size());
+        assertEquals("Before shutdown", drained.get(1L).getNotes());
+    }
+
+    private double depth() {
+        return meterRegistry.get("vacationplanner.activity.write-behind.depth").gauge().value();
+    }
+
+    private double dropped() {
+        return meterRegistry.get("vacationplanner.activity.write-behind.dropped").counter().count();
+    }
+
+    private static ActivityDTO edit(LocalTime startTime, String notes) {
+        ActivityDTO changes = new ActivityDTO();
+        changes.setStartTime(startTime);
+        changes.setNotes(notes);
+        return changes;
+    }
+
+    private List<Activity> persistActivities(int count) {
+        return transactionTemplate.execute(status -> persistActivitiesInTransaction(count));
+    }
+
+    private List<Activity> persistActivitiesInTransaction(int count) {
+        Itinerary itinerary = fixtures.persistItinerary("uid-write-behind");
+        List<Activity> activities = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            activities.add(fixtures.persistActivity(itinerary, "Activity " + i, DAY, LocalTime.of(8 + i * 2, 0), 60,
+                    BigDecimal.TEN));
+        }
+        return activities;
+    }
+}
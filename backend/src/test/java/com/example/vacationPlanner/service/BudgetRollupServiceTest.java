@@ -0,0 +1,192 @@
+package com.example.vacationPlanner.service;
+
+import com.example.vacationPlanner.model.Itinerary;
+import com.example.vacationPlanner.model.dto.ActivityDTO;
+import com.example.vacationPlanner.model.dto.BudgetSummaryDTO;
+import com.example.vacationPlanner.repository.ActivityRepository;
+import com.example.vacationPlanner.repository.BudgetRollupRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.example.vacationPlanner.service.ServiceFixtures.DAY;
+import static com.example.vacationPlanner.service.ServiceFixtures.newActivity;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@ServiceSliceTest
+class BudgetRollupServiceTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ServiceFixtures fixtures;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ActivityService activityService;
+
+    @Autowired
+    private BudgetRollupService budgetRollupService;
+
+    @Autowired
+    private ActivityRepository activityRepository;
+
+    @Autowired
+    private BudgetRollupRepository budgetRollupRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void rollupsFollowEveryKindOfWrite() {
+        Itinerary itinerary = fixtures.persistItinerary("uid-budget");
+        Long itineraryId = itinerary.getId();
+
+        ActivityDTO museum = activityService.createActivity(activity(itineraryId, DAY, "09:00", 90, "12.50"));
+        ActivityDTO lunch = activityService.createActivity(activity(itineraryId, DAY, "12:00", 60, "30.00"));
+        assertRollupsMatchActivities(itineraryId);
+
+        List<ActivityDTO> bulk = activityService.createActivities(List.of(
+                activity(itineraryId, DAY, "15:00", 30, "4.00"),
+                activity(itineraryId, DAY.plusDays(1), "10:00", 120, "55.25"),
+                activity(itineraryId, DAY.plusDays(2), "10:00", 45, "0.00")));
+        assertRollupsMatchActivities(itineraryId);
+
+        // Moving the most expensive activity of the day away forces the day's max to be recomputed
+        ActivityDTO changes = new ActivityDTO();
+        changes.setDate(DAY.plusDays(1));
+        changes.setCost(new BigDecimal("31.00"));
+        activityService.patchActivity(lunch.getId(), changes, null);
+        assertRollupsMatchActivities(itineraryId);
+
+        museum.setCost(new BigDecimal("2.00"));
+        museum.setDuration(60);
+        activityService.updateActivity(museum.getId(), museum, null);
+        assertRollupsMatchActivities(itineraryId);
+
+        ActivityDTO moved = bulk.get(0);
+        moved.setStartTime(LocalTime.of(16, 0));
+        moved.setCost(new BigDecimal("5.00"));
+        activityService.updateActivities(List.of(moved));
+        assertRollupsMatchActivities(itineraryId);
+
+        activityService.deleteActivity(museum.getId());
+        assertRollupsMatchActivities(itineraryId);
+
+        activityService.deleteActivities(List.of(bulk.get(1).getId(), bulk.get(2).getId()));
+        assertRollupsMatchActivities(itineraryId);
+        assertEquals(0, budgetRollupService.reconcile(List.of(itineraryId)));
+    }
+
+    @Test
+    void reconcilerRepairsDriftedAndMissingRows() {
+        Itinerary itinerary = fixtures.persistItinerary("uid-budget");
+        Long itineraryId = itinerary.getId();
+        activityService.createActivity(activity(itineraryId, DAY, "09:00", 60, "10.00"));
+        activityService.createActivity(activity(itineraryId, DAY.plusDays(1), "09:00", 60, "20.00"));
+
+        // One row tampered with, one day written without going through ActivityService
+        jdbcTemplate.update("UPDATE budget_rollups SET total_cost = 99 WHERE itinerary_id = ? AND date = ?", itineraryId, DAY);
+        fixtures.persistActivity(itinerary, "Direct", DAY.plusDays(2), LocalTime.of(9, 0), 60, new BigDecimal("40.00"));
+        entityManager.flush();
+
+        assertEquals(2, budgetRollupService.reconcile(List.of(itineraryId)));
+        entityManager.flush();
+        entityManager.clear();
+        assertRollupsMatchActivities(itineraryId);
+        assertEquals(0, budgetRollupService.reconcile(List.of(itineraryId)));
+        assertEquals(2, meterRegistry.get("vacationplanner.budget.rollup.repairs").counter().count());
+    }
+
+    @Test
+    void summarySkipsTheMissingMinAndMaxOfADriftedRow() {
+        Itinerary itinerary = fixtures.persistItinerary("uid-budget");
+        Long itineraryId = itinerary.getId();
+        activityService.createActivity(activity(itineraryId, DAY, "09:00", 60, "10.00"));
+        activityService.createActivity(activity(itineraryId, DAY.plusDays(1), "09:00", 60, "20.00"));
+        jdbcTemplate.update("UPDATE budget_rollups SET min_cost = NULL, max_cost = NULL WHERE itinerary_id = ? AND date = ?",
+                itineraryId, DAY.plusDays(1));
+
+        BudgetSummaryDTO summary = activityService.getBudgetSummaryForItinerary(itineraryId);
+
+        assertEquals(0, new BigDecimal("30.00").compareTo(summary.getTotalCost()));
+        assertEquals(0, new BigDecimal("10.00").compareTo(summary.getMinCost()));
+        assertEquals(0, new BigDecimal("10.00").compareTo(summary.getMaxCost()));
+        assertEquals(2L, summary.getActivityCount());
+    }
+
+    @Test
+    void subCentCostsAreRoundedPerActivityLikeTheCostColumn() {
+        Itinerary itinerary = fixtures.persistItinerary("uid-budget");
+        Long itineraryId = itinerary.getId();
+        activityService.createActivity(activity(itineraryId, DAY, "09:00", 60, "1.005"));
+        activityService.createActivity(activity(itineraryId, DAY, "11:00", 60, "1.005"));
+        entityManager.flush();
+        entityManager.clear();
+
+        // Each activity is stored as 1.01, so the day is 2.02 rather than a rounded 2.010
+        assertEquals(new BigDecimal("2.02"), budgetRollupRepository.findDailyByItineraryId(itineraryId).get(0).getTotalCost());
+        assertRollupsMatchActivities(itineraryId);
+        assertEquals(0, budgetRollupService.reconcile(List.of(itineraryId)));
+    }
+
+    @Test
+    void emptyBudgetKeepsAPlainZeroTotal() {
+        BudgetSummaryDTO summary = activityService.summarizeBudget(1L, List.of());
+
+        assertEquals(BigDecimal.ZERO, summary.getTotalCost());
+        assertNull(summary.getMinCost());
+        assertEquals(0L, summary.getActivityCount());
+        assertEquals(List.of(), summary.getDaily());
+    }
+
+    @Test
+    void budgetSummaryIsOneQueryRegardlessOfItinerarySize() {
+        Itinerary itinerary = fixtures.persistItinerary("uid-budget");
+        List<ActivityDTO> activities = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            activities.add(activity(itinerary.getId(), DAY.plusDays(i / 10), LocalTime.of(8, 0).plusHours(i % 10).toString(),
+                    30, "1.50"));
+        }
+        activityService.createActivities(activities);
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        BudgetSummaryDTO summary = activityService.getBudgetSummaryForItinerary(itinerary.getId());
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, new BigDecimal("1500.00").compareTo(summary.getTotalCost()));
+        assertEquals(1000L, summary.getActivityCount());
+        assertEquals(30000L, summary.getTotalDuration());
+        assertEquals(100, summary.getDaily().size());
+    }
+
+    private void assertRollupsMatchActivities(Long itineraryId) {
+        BudgetSummaryDTO expected = activityService.summarizeBudget(itineraryId,
+                activityRepository.findOrderedDTOsByItineraryId(itineraryId));
+        assertEquals(expected.getDaily(), budgetRollupRepository.findDailyByItineraryId(itineraryId));
+    }
+
+    private static ActivityDTO activity(Long itineraryId, LocalDate date, String startTime, int duration, String cost) {
+        return newActivity(itineraryId, "Activity", date, LocalTime.parse(startTime), duration, new BigDecimal(cost));
+    }
+}
@@ -0,0 +1,164 @@
+package com.example.vacationPlanner.service;
+
+import com.example.vacationPlanner.model.GeocodeCacheEntry;
+import com.example.vacationPlanner.model.dto.GeocodeResultDTO;
+import com.example.vacationPlanner.repository.GeocodeCacheRepository;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Policy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest
+@Import({GeocodingService.class, StubGeocodingProvider.class, ServiceMetrics.class, SimpleMeterRegistry.class})
+@TestPropertySource(properties = {
+        "geocoding.rate-limit.permits-per-second=1000",
+        "geocoding.rate-limit.burst=1000"
+})
+class GeocodingServiceTest {
+
+    @Autowired
+    private GeocodingService geocodingService;
+
+    @Autowired
+    private StubGeocodingProvider stubGeocodingProvider;
+
+    @Autowired
+    private GeocodeCacheRepository geocodeCacheRepository;
+
+    @Test
+    void equivalentQueriesShareOneLookupAndArePersisted() {
+        int before = stubGeocodingProvider.getLookupCount();
+
+        GeocodeResultDTO first = geocodingService.search("Piazza Navona, Rome").orElseThrow();
+        GeocodeResultDTO second = geocodingService.search("  piazza   NAVONA, rome ").orElseThrow();
+
+        assertEquals(first, second);
+        assertEquals(before + 1, stubGeocodingProvider.getLookupCount());
+        assertTrue(geocodeCacheRepository.findById("search:piazza navona, rome").isPresent());
+    }
+
+    @Test
+    void storedResultsAreReusedWithoutCallingTheProvider() {
+        geocodeCacheRepository.saveAndFlush(new GeocodeCacheEntry("search:colosseum", "Colosseo, Roma",
+                41.8902, 12.4922, LocalDateTime.now()));
+        int before = stubGeocodingProvider.getLookupCount();
+
+        GeocodeResultDTO result = geocodingService.search("Colosseum").orElseThrow();
+
+        assertEquals("Colosseo, Roma", result.getDisplayName());
+        assertEquals(before, stubGeocodingProvider.getLookupCount());
+    }
+
+    @Test
+    void missesAreCachedToo() {
+        int before = stubGeocodingProvider.getLookupCount();
+
+        assertFalse(geocodingService.search("nowhere at all").isPresent());
+        assertFalse(geocodingService.search("Nowhere at all").isPresent());
+
+        assertEquals(before + 1, stubGeocodingProvider.getLookupCount());
+    }
+
+    @Test
+    void expiredMissesAreAskedAgain() {
+        geocodeCacheRepository.saveAndFlush(new GeocodeCacheEntry("search:trastevere", null, null, null,
+                LocalDateTime.now().minusDays(2)));
+        int before = stubGeocodingProvider.getLookupCount();
+
+        assertTrue(geocodingService.search("Trastevere").isPresent());
+
+        assertEquals(before + 1, stubGeocodingProvider.getLookupCount());
+        assertNotNull(geocodeCacheRepository.findById("search:trastevere").orElseThrow().getLatitude());
+    }
+
+    @Test
+    void recentMissesInTheTableAreReused() {
+        geocodeCacheRepository.saveAndFlush(new GeocodeCacheEntry("search:testaccio", null, null, null,
+                LocalDateTime.now().minusHours(1)));
+        int before = stubGeocodingProvider.getLookupCount();
+
+        assertFalse(geocodingService.search("Testaccio").isPresent());
+
+        assertEquals(before, stubGeocodingProvider.getLookupCount());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void onlyMissesExpireFromMemory() {
+        AsyncCache<String, Optional<GeocodeResultDTO>> cache = (AsyncCache<String, Optional<GeocodeResultDTO>>)
+                ReflectionTestUtils.getField(geocodingService, "cache");
+
+        geocodingService.search("nowhere near");
+        geocodingService.search("Pantheon");
+
+        Policy.VarExpiration<String, Optional<GeocodeResultDTO>> expiration =
+                cache.synchronous().policy().expireVariably().orElseThrow();
+        assertTrue(expiration.getExpiresAfter("search:nowhere near").orElseThrow()
+                .compareTo(Duration.ofHours(24)) <= 0);
+        assertTrue(expiration.getExpiresAfter("search:pantheon").orElseThrow()
+                .compareTo(Duration.ofDays(365)) > 0);
+    }
+
+    @Test
+    void nearbyReverseLookupsShareAGridCell() {
+        int before = stubGeocodingProvider.getLookupCount();
+
+        geocodingService.reverse(41.89021, 12.49223);
+        geocodingService.reverse(41.890214, 12.492228);
+
+        assertEquals(before + 1, stubGeocodingProvider.getLookupCount());
+    }
+
+    @Test
+    void concurrentIdenticalLookupsAreCoalesced() throws Exception {
+        int before = stubGeocodingProvider.getLookupCount();
+        int callers = 16;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        try {
+            List<Future<Optional<GeocodeResultDTO>>> results = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return geocodingService.search("Trevi Fountain");
+                }));
+            }
+            start.countDown();
+            for (Future<Optional<GeocodeResultDTO>> result : results) {
+                assertTrue(result.get().isPresent());
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(before + 1, stubGeocodingProvider.getLookupCount());
+    }
+
+    @Test
+    void tokenBucketRejectsOnceBurstIsSpent() throws InterruptedException {
+        TokenBucket bucket = new TokenBucket(0.5, 2);
+
+        assertTrue(bucket.tryAcquire(Duration.ZERO));
+        assertTrue(bucket.tryAcquire(Duration.ZERO));
+        assertFalse(bucket.tryAcquire(Duration.ofMillis(100)));
+    }
+}
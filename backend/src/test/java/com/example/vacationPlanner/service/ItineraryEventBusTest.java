@@ -0,0 +1,114 @@
+package com.example.vacationPlanner.service;
+
+import com.example.vacationPlanner.model.dto.ActivityDTO;
+import com.example.vacationPlanner.model.dto.ActivityEventDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Subscription;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.Disposable;
+import reactor.core.Exceptions;
+import reactor.core.publisher.BaseSubscriber;
+import reactor.test.StepVerifier;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ItineraryEventBusTest {
+
+    private ItineraryEventBus bus;
+
+    @BeforeEach
+    void setUp() {
+        bus = new ItineraryEventBus();
+        ReflectionTestUtils.setField(bus, "bufferSize", 2);
+        ReflectionTestUtils.setField(bus, "heartbeat", Duration.ofSeconds(30));
+    }
+
+    @Test
+    void fansOutToEveryStreamOfTheItineraryAndNoOther() {
+        List<ActivityEventDTO> first = new CopyOnWriteArrayList<>();
+        List<ActivityEventDTO> second = new CopyOnWriteArrayList<>();
+        List<ActivityEventDTO> otherItinerary = new CopyOnWriteArrayList<>();
+        Disposable firstStream = bus.subscribe(1L).subscribe(first::add);
+        Disposable secondStream = bus.subscribe(1L).subscribe(second::add);
+        Disposable otherStream = bus.subscribe(2L).subscribe(otherItinerary::add);
+
+        bus.activitiesCreated(List.of(activity(10L, 1L)));
+        bus.activitiesDeleted(List.of(activity(11L, 1L)));
+
+        assertEquals(2, bus.subscriberCount(1L));
+        assertEquals(List.of(ActivityEventDTO.Type.CREATED, ActivityEventDTO.Type.DELETED),
+                first.stream().map(ActivityEventDTO::getType).toList());
+        assertEquals(first, second);
+        assertEquals(10L, first.get(0).getActivity().getId());
+        assertNull(first.get(1).getActivity());
+        assertTrue(otherItinerary.isEmpty());
+
+        // The topic goes away with its last stream
+        firstStream.dispose();
+        secondStream.dispose();
+        otherStream.dispose();
+        assertEquals(0, bus.subscriberCount(1L));
+        assertEquals(0, bus.subscriberCount(2L));
+    }
+
+    @Test
+    void streamThatFallsBehindIsCutOffWithoutHoldingUpTheOthers() {
+        List<ActivityEventDTO> fast = new CopyOnWriteArrayList<>();
+        List<ActivityEventDTO> slow = new CopyOnWriteArrayList<>();
+        AtomicReference<Throwable> slowError = new AtomicReference<>();
+        bus.subscribe(1L).subscribe(fast::add);
+        BaseSubscriber<ActivityEventDTO> slowStream = new BaseSubscriber<>() {
+            @Override
+            protected void hookOnSubscribe(Subscription subscription) {
+                // Requests nothing until told to
+            }
+
+            @Override
+            protected void hookOnNext(ActivityEventDTO event) {
+                slow.add(event);
+            }
+
+            @Override
+            protected void hookOnError(Throwable error) {
+                slowError.set(error);
+            }
+        };
+        bus.subscribe(1L).subscribe(slowStream);
+
+        bus.activitiesUpdated(List.of(activity(1L, 1L), activity(2L, 1L), activity(3L, 1L)));
+
+        assertEquals(3, fast.size());
+        assertEquals(1, bus.subscriberCount(1L));
+        // The slow stream gets what it had buffered, then the overflow
+        slowStream.request(10);
+        assertEquals(2, slow.size());
+        assertTrue(Exceptions.isOverflow(slowError.get()));
+    }
+
+    @Test
+    void streamSendsHeartbeatsAndEndsWhenTheItineraryIsDeleted() {
+        StepVerifier.withVirtualTime(() -> bus.stream(1L))
+                .thenAwait(Duration.ofSeconds(30))
+                .assertNext(sse -> assertEquals("heartbeat", sse.comment()))
+                .then(() -> bus.activitiesUpdated(List.of(activity(5L, 1L))))
+                .assertNext(sse -> assertEquals("UPDATED", sse.event()))
+                .then(() -> bus.itineraryDeleted(1L))
+                .assertNext(sse -> assertEquals(ActivityEventDTO.Type.ITINERARY_DELETED, sse.data().getType()))
+                .verifyComplete();
+        assertEquals(0, bus.subscriberCount(1L));
+    }
+
+    private static ActivityDTO activity(Long id, Long itineraryId) {
+        ActivityDTO activity = new ActivityDTO();
+        activity.setId(id);
+        activity.setItineraryId(itineraryId);
+        return activity;
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.vacationPlanner.service;
+
+import com.example.vacationPlanner.model.Itinerary;
+import com.example.vacationPlanner.model.User;
+import com.example.vacationPlanner.model.dto.BudgetSummaryDTO;
+import com.example.vacationPlanner.model.dto.ItineraryDayDTO;
+import com.example.vacationPlanner.model.dto.ItinerarySnapshotDTO;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import java.math.BigDecimal;
+import java.time.LocalTime;
+import java.util.List;
+
+import static com.example.vacationPlanner.service.ServiceFixtures.DAY;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@ServiceSliceTest
+class ItineraryServiceTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ServiceFixtures fixtures;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ItineraryService itineraryService;
+
+    @Autowired
+    private ActivityService activityService;
+
+    @Autowired
+    private BudgetRollupService budgetRollupService;
+
+    @Test
+    void deleteItineraryUsesBulkStatements() {
+        User user = fixtures.persistUser("delete-one");
+        Itinerary itinerary = persistItinerary(user, 2000);
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        itineraryService.deleteItinerary(itinerary.getId());
+
+        assertEquals(3, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertNull(entityManager.find(Itinerary.class, itinerary.getId()));
+        assertEquals(0L, entityManager.getEntityManager()
+                .createQuery("select count(a) from Activity a", Long.class)
+                .getSingleResult());
+    }
+
+    @Test
+    void deleteMissingItineraryFails() {
+        assertThrows(RuntimeException.class, () -> itineraryService.deleteItinerary(-1L));
+    }
+
+    @Test
+    void deleteItinerariesByUserIdRemovesOnlyThatUser() {
+        User user = fixtures.persistUser("delete-all");
+        User otherUser = fixtures.persistUser("keep");
+        persistItinerary(user, 100);
+        persistItinerary(user, 100);
+        Itinerary kept = persistItinerary(otherUser, 10);
+        entityManager.flush();
+        entityManager.clear();
+
+        assertEquals(2, itineraryService.deleteItinerariesByUserId(user.getId()));
+        assertEquals(1, itineraryService.getItinerariesByUserId(otherUser.getId()).size());
+        assertEquals(10L, entityManager.getEntityManager()
+                .createQuery("select count(a) from Activity a where a.itinerary.id = :id", Long.class)
+                .setParameter("id", kept.getId())
+                .getSingleResult());
+    }
+
+    @Test
+    void snapshotIsAssembledFromTwoQueries() {
+        User user = fixtures.persistUser("snapshot");
+        Itinerary itinerary = persistItinerary(user, 10);
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        ItinerarySnapshotDTO snapshot = itineraryService.getItinerarySnapshot(itinerary.getId()).orElseThrow();
+        assertEquals(2, statistics.getPrepareStatementCount());
+
+        assertEquals(itinerary.getId(), snapshot.getItinerary().getId());
+        assertEquals(10, snapshot.getActivities().size());
+        assertEquals(5, snapshot.getDays().size());
+        for (ItineraryDayDTO day : snapshot.getDays()) {
+            assertEquals(2, day.getActivityIds().size());
+            assertEquals(1, day.getGaps().size());
+            assertEquals(-60, day.getGaps().get(0).getFreeMinutes());
+            assertNull(day.getGaps().get(0).getTravelMinutes());
+        }
+
+        // The activities were persisted directly, so the rollups are rebuilt the way the reconciler would
+        budgetRollupService.reconcile(List.of(itinerary.getId()));
+        BudgetSummaryDTO expected = activityService.getBudgetSummaryForItinerary(itinerary.getId());
+        assertEquals(expected.getTotalCost(), snapshot.getBudget().getTotalCost());
+        assertEquals(expected.getActivityCount(), snapshot.getBudget().getActivityCount());
+        assertEquals(expected.getDaily(), snapshot.getBudget().getDaily());
+
+        statistics.clear();
+        itineraryService.getItinerarySnapshot(itinerary.getId());
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    private Itinerary persistItinerary(User user, int activityCount) {
+        Itinerary itinerary = fixtures.persistItinerary(user);
+        for (int i = 0; i < activityCount; i++) {
+            fixtures.persistActivity(itinerary, "Activity " + i, DAY.plusDays(i % 5), LocalTime.of(9, 0), 60,
+                    BigDecimal.TEN);
+        }
+        return itinerary;
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.vacationPlanner.service;
+
+import com.example.vacationPlanner.model.Itinerary;
+import com.example.vacationPlanner.model.dto.NearbyActivityDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import java.math.BigDecimal;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static com.example.vacationPlanner.service.ServiceFixtures.DAY;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ServiceSliceTest
+class NearbyActivityServiceTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ServiceFixtures fixtures;
+
+    @Autowired
+    private NearbyActivityService nearbyActivityService;
+
+    @Test
+    void databaseAndGridSearchesMatchBruteForce() {
+        Random random = new Random(7);
+        double[][] points = new double[500][];
+        for (int i = 0; i < points.length; i++) {
+            points[i] = new double[]{41.80 + random.nextDouble() * 0.2, 12.40 + random.nextDouble() * 0.2};
+        }
+        Itinerary itinerary = persistItinerary(points);
+        entityManager.flush();
+        entityManager.clear();
+
+        for (int q = 0; q < 10; q++) {
+            double lat = 41.80 + random.nextDouble() * 0.2;
+            double lng = 12.40 + random.nextDouble() * 0.2;
+            double radiusKm = 0.5 + random.nextDouble() * 3;
+            List<String> expected = new ArrayList<>();
+            for (int i = 0; i < points.length; i++) {
+                if (TravelTimeService.haversineKm(lat, lng, points[i][0], points[i][1]) <= radiusKm) {
+                    expected.add("Activity " + i);
+                }
+            }
+
+            List<NearbyActivityDTO> fromDatabase = nearbyActivityService.findNearby(lat, lng, radiusKm, null, 1000);
+            List<NearbyActivityDTO> fromGrid = nearbyActivityService.findNearby(lat, lng, radiusKm, itinerary.getId(), 1000);
+
+            assertEquals(expected.stream().sorted().toList(), names(fromDatabase).stream().sorted().toList());
+            assertEquals(names(fromDatabase), names(fromGrid));
+            assertSortedByDistance(fromDatabase);
+        }
+    }
+
+    @Test
+    void limitKeepsTheNearestActivities() {
+        Itinerary itinerary = persistItinerary(new double[][]{{41.900, 12.500}, {41.901, 12.500}, {41.905, 12.500}, {41.950, 12.500}});
+        entityManager.flush();
+        entityManager.clear();
+
+        assertEquals(List.of("Activity 0", "Activity 1"), names(nearbyActivityService.findNearby(41.9, 12.5, 10, null, 2)));
+        assertEquals(List.of("Activity 0", "Activity 1"), names(nearbyActivityService.findNearby(41.9, 12.5, 10, itinerary.getId(), 2)));
+    }
+
+    @Test
+    void searchAcrossTheAntimeridianFindsBothSides() {
+        persistItinerary(new double[][]{{-17.0, 179.99}, {-17.0, -179.99}, {-17.0, 179.0}});
+        entityManager.flush();
+        entityManager.clear();
+
+        List<NearbyActivityDTO> nearby = nearbyActivityService.findNearby(-17.0, 179.999, 5, null, 100);
+
+        assertEquals(List.of("Activity 0", "Activity 1"), names(nearby).stream().sorted().toList());
+    }
+
+    @Test
+    void rejectsRadiusOutOfRange() {
+        assertThrows(IllegalArgumentException.class, () -> nearbyActivityService.findNearby(41.9, 12.5, 0, null, 10));
+        assertThrows(IllegalArgumentException.class, () -> nearbyActivityService.findNearby(41.9, 12.5, 500, null, 10));
+        assertThrows(IllegalArgumentException.class, () -> nearbyActivityService.findNearby(95, 12.5, 1, null, 10));
+    }
+
+    private static List<String> names(List<NearbyActivityDTO> nearby) {
+        return nearby.stream().map(n -> n.getActivity().getName()).toList();
+    }
+
+    private static void assertSortedByDistance(List<NearbyActivityDTO> nearby) {
+        for (int i = 1; i < nearby.size(); i++) {
+            assertTrue(nearby.get(i - 1).getDistanceKm() <= nearby.get(i).getDistanceKm());
+        }
+    }
+
+    private Itinerary persistItinerary(double[][] points) {
+        Itinerary itinerary = fixtures.persistItinerary("uid-nearby");
+        for (int i = 0; i < points.length; i++) {
+            fixtures.persistActivity(itinerary, "Activity " + i, DAY, LocalTime.of(9, 0), 30, BigDecimal.ONE,
+                    points[i][0], points[i][1]);
+        }
+        return itinerary;
+    }
+}
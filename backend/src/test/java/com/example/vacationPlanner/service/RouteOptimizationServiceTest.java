@@ -0,0 +1,95 @@
+package com.example.vacationPlanner.service;
+
+import com.example.vacationPlanner.model.Activity;
+import com.example.vacationPlanner.model.Itinerary;
+import com.example.vacationPlanner.model.dto.OptimizedStopDTO;
+import com.example.vacationPlanner.model.dto.RouteOptimizationDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import java.math.BigDecimal;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Set;
+
+import static com.example.vacationPlanner.service.ServiceFixtures.DAY;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ServiceSliceTest
+class RouteOptimizationServiceTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ServiceFixtures fixtures;
+
+    @Autowired
+    private RouteOptimizationService routeOptimizationService;
+
+    @Test
+    void appliedScheduleOnlyPushesBackStopsThatNoLongerFit() {
+        Itinerary itinerary = fixtures.persistItinerary("uid-route");
+        persistActivity(itinerary, "09:00", 60, 41.90, 12.50);
+        Activity overlapping = persistActivity(itinerary, "09:30", 30, 41.90, 12.50);
+        Activity later = persistActivity(itinerary, "14:00", 60, 41.90, 12.50);
+        entityManager.flush();
+        entityManager.clear();
+
+        RouteOptimizationDTO result = routeOptimizationService.optimizeDay(itinerary.getId(), DAY, null, true);
+        entityManager.flush();
+        entityManager.clear();
+
+        assertTrue(result.isApplied());
+        assertEquals(LocalTime.of(9, 0), result.getStops().get(0).getStartTime());
+        assertEquals(LocalTime.of(10, 5), result.getStops().get(1).getStartTime());
+        assertEquals(LocalTime.of(14, 0), result.getStops().get(2).getStartTime());
+        assertEquals(LocalTime.of(10, 5), entityManager.find(Activity.class, overlapping.getId()).getStartTime());
+        assertEquals(LocalTime.of(14, 0), entityManager.find(Activity.class, later.getId()).getStartTime());
+    }
+
+    @Test
+    void shorterOrderThatWouldMakeAFixedStopLateIsNotTaken() {
+        // Visiting the far stop first saves a return trip, but then lunch could not start at 12:00
+        Itinerary itinerary = fixtures.persistItinerary("uid-route");
+        Activity museum = persistActivity(itinerary, "09:00", 60, 41.90, 12.50);
+        Activity villa = persistActivity(itinerary, "10:30", 60, 41.95, 12.50);
+        Activity lunch = persistActivity(itinerary, "12:00", 60, 41.90, 12.50);
+        entityManager.flush();
+        entityManager.clear();
+
+        RouteOptimizationDTO result = routeOptimizationService.optimizeDay(itinerary.getId(), DAY,
+                Set.of(lunch.getId()), false);
+
+        assertEquals(List.of(museum.getId(), villa.getId(), lunch.getId()),
+                result.getStops().stream().map(OptimizedStopDTO::getActivityId).toList());
+        assertEquals(LocalTime.of(12, 0), result.getStops().get(2).getStartTime());
+        assertEquals(0, result.getStops().get(2).getMinutesLate());
+    }
+
+    @Test
+    void scheduleThatRunsPastMidnightIsRejectedInsteadOfWrapped() {
+        // 20 km apart: whichever stop goes first, the second one would start at 00:10
+        Itinerary itinerary = fixtures.persistItinerary("uid-route");
+        Activity first = persistActivity(itinerary, "23:00", 30, 41.90, 12.50);
+        Activity second = persistActivity(itinerary, "23:40", 30, 42.08, 12.50);
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThrows(DayOverflowException.class,
+                () -> routeOptimizationService.optimizeDay(itinerary.getId(), DAY, null, false));
+        assertThrows(DayOverflowException.class,
+                () -> routeOptimizationService.optimizeDay(itinerary.getId(), DAY, null, true));
+        entityManager.clear();
+        assertEquals(LocalTime.of(23, 0), entityManager.find(Activity.class, first.getId()).getStartTime());
+        assertEquals(LocalTime.of(23, 40), entityManager.find(Activity.class, second.getId()).getStartTime());
+    }
+
+    private Activity persistActivity(Itinerary itinerary, String startTime, int duration,
+                                     Double latitude, Double longitude) {
+        return fixtures.persistActivity(itinerary, "Activity " + startTime, DAY, LocalTime.parse(startTime), duration,
+                BigDecimal.ONE, latitude, longitude);
+    }
+}
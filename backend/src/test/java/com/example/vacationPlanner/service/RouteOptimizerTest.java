@@ -0,0 +1,83 @@
+package com.example.vacationPlanner.service;
+
+import org.junit.jupiter.api.Test;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RouteOptimizerTest {
+
+    @Test
+    void stopsOnALineAreVisitedInOrder() {
+        // Stops at positions 0, 4, 1, 3, 2 on a line; the shortest path from stop 0 walks them by position
+        double[] positions = {0, 4, 1, 3, 2};
+        RouteOptimizer optimizer = new RouteOptimizer(lineDistances(positions), positions.length, new boolean[5]);
+
+        int[] order = optimizer.optimize();
+
+        assertArrayEquals(new int[]{0, 2, 4, 3, 1}, order);
+        assertEquals(4.0, optimizer.pathLength(order), 1e-9);
+    }
+
+    @Test
+    void fixedStopsKeepTheirSlot() {
+        Random random = new Random(7);
+        int n = 200;
+        double[] positions = new double[n];
+        boolean[] fixed = new boolean[n];
+        for (int i = 0; i < n; i++) {
+            positions[i] = random.nextDouble() * 100;
+            fixed[i] = i % 10 == 5;
+        }
+        RouteOptimizer optimizer = new RouteOptimizer(lineDistances(positions), n, fixed);
+        int[] original = new int[n];
+        Arrays.setAll(original, i -> i);
+
+        int[] order = optimizer.optimize();
+
+        for (int i = 0; i < n; i++) {
+            if (fixed[i]) {
+                assertEquals(i, order[i]);
+            }
+        }
+        int[] sorted = order.clone();
+        Arrays.sort(sorted);
+        assertArrayEquals(original, sorted);
+        assertTrue(optimizer.pathLength(order) < optimizer.pathLength(original));
+    }
+
+    @Test
+    void fixedStopTimesRuleOutShorterOrders() {
+        // Free stops at 09:00 and 10:30, then a stop fixed at 12:00 back at the start; two minutes per unit of distance
+        double[] positions = {0, 10, 0};
+        boolean[] fixed = {false, false, true};
+        double[] distance = lineDistances(positions);
+        int[] travelMinutes = new int[9];
+        Arrays.setAll(travelMinutes, k -> (int) (2 * distance[k]));
+        int[] earliestStart = {9 * 60, 10 * 60 + 30, 12 * 60};
+        int[] duration = {60, 60, 60};
+
+        int[] byDistance = new RouteOptimizer(distance, 3, fixed).optimize();
+        RouteOptimizer optimizer = new RouteOptimizer(distance, 3, fixed, earliestStart, duration, travelMinutes);
+        int[] order = optimizer.optimize();
+
+        assertArrayEquals(new int[]{1, 0, 2}, byDistance);
+        assertEquals(50, optimizer.lateness(byDistance));
+        assertArrayEquals(new int[]{0, 1, 2}, order);
+        assertEquals(0, optimizer.lateness(order));
+    }
+
+    private static double[] lineDistances(double[] positions) {
+        int n = positions.length;
+        double[] distance = new double[n * n];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                distance[i * n + j] = Math.abs(positions[i] - positions[j]);
+            }
+        }
+        return distance;
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.vacationPlanner.service;
+
+import com.example.vacationPlanner.model.Itinerary;
+import com.example.vacationPlanner.model.dto.ActivityDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.TestPropertySource;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import static com.example.vacationPlanner.service.ServiceFixtures.DAY;
+import static com.example.vacationPlanner.service.ServiceFixtures.newActivity;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@ServiceSliceTest
+@TestPropertySource(properties = "schedule.reject-overlaps=true")
+class ScheduleRejectionTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ServiceFixtures fixtures;
+
+    @Autowired
+    private ActivityService activityService;
+
+    @Test
+    void writeThatOverlapsAnotherActivityIsRejected() {
+        Itinerary itinerary = fixtures.persistItinerary("uid-schedule");
+        persistActivity(itinerary, DAY, "09:00", 120);
+        entityManager.flush();
+
+        assertThrows(ScheduleConflictException.class,
+                () -> activityService.createActivity(activity(itinerary, DAY, "10:00", 30)));
+        assertNotNull(activityService.createActivity(activity(itinerary, DAY, "11:00", 30)).getId());
+        assertNotNull(activityService.createActivity(activity(itinerary, DAY.plusDays(1), "10:00", 30)).getId());
+    }
+
+    @Test
+    void existingOverlapDoesNotBlockUnrelatedWrites() {
+        Itinerary itinerary = fixtures.persistItinerary("uid-schedule");
+        persistActivity(itinerary, DAY, "09:00", 60);
+        persistActivity(itinerary, DAY, "09:30", 60);
+        entityManager.flush();
+
+        assertNotNull(activityService.createActivity(activity(itinerary, DAY, "14:00", 30)).getId());
+    }
+
+    private static ActivityDTO activity(Itinerary itinerary, LocalDate date, String startTime, int duration) {
+        return newActivity(itinerary.getId(), "New", date, LocalTime.parse(startTime), duration, BigDecimal.ONE);
+    }
+
+    private void persistActivity(Itinerary itinerary, LocalDate date, String startTime, int duration) {
+        fixtures.persistActivity(itinerary, "Activity " + startTime, date, LocalTime.parse(startTime), duration,
+                BigDecimal.ONE);
+    }
+}
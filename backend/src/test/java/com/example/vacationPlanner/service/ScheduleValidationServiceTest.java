@@ -0,0 +1,108 @@
+package com.example.vacationPlanner.service;
+
+import com.example.vacationPlanner.model.Activity;
+import com.example.vacationPlanner.model.Itinerary;
+import com.example.vacationPlanner.model.dto.ActivityDTO;
+import com.example.vacationPlanner.model.dto.ScheduleConflictDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static com.example.vacationPlanner.service.ServiceFixtures.DAY;
+import static com.example.vacationPlanner.service.ServiceFixtures.newActivity;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@ServiceSliceTest
+class ScheduleValidationServiceTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ServiceFixtures fixtures;
+
+    @Autowired
+    private ScheduleValidationService scheduleValidationService;
+
+    @Autowired
+    private ActivityService activityService;
+
+    @Test
+    void findsOverlapsAndTransfersTooShortForTheDistance() {
+        Itinerary itinerary = fixtures.persistItinerary("uid-schedule");
+        Activity museum = persistActivity(itinerary, DAY, "09:00", 60, 41.90, 12.50);
+        Activity lunch = persistActivity(itinerary, DAY, "09:30", 60, 41.90, 12.50);
+        Activity villa = persistActivity(itinerary, DAY, "10:30", 60, 41.98, 12.50);
+        persistActivity(itinerary, DAY, "13:00", 60, 41.98, 12.50);
+        persistActivity(itinerary, DAY.plusDays(1), "09:00", 60, 41.90, 12.50);
+        entityManager.flush();
+        entityManager.clear();
+
+        List<ScheduleConflictDTO> conflicts = scheduleValidationService.getConflicts(itinerary.getId());
+
+        assertEquals(2, conflicts.size());
+        ScheduleConflictDTO overlap = conflicts.get(0);
+        assertEquals(ScheduleConflictDTO.Type.OVERLAP, overlap.getType());
+        assertEquals(museum.getId(), overlap.getFirstActivityId());
+        assertEquals(lunch.getId(), overlap.getSecondActivityId());
+        assertEquals(30, overlap.getOverlapMinutes());
+        ScheduleConflictDTO transfer = conflicts.get(1);
+        assertEquals(ScheduleConflictDTO.Type.TRAVEL, transfer.getType());
+        assertEquals(lunch.getId(), transfer.getFirstActivityId());
+        assertEquals(villa.getId(), transfer.getSecondActivityId());
+        assertEquals(0, transfer.getFreeMinutes());
+        assertEquals(18, transfer.getTravelMinutes());
+    }
+
+    @Test
+    void overlappingWriteIsSavedAndReportedByDefault() {
+        Itinerary itinerary = fixtures.persistItinerary("uid-schedule");
+        Activity museum = persistActivity(itinerary, DAY, "09:00", 120, null, null);
+        entityManager.flush();
+
+        ActivityDTO created = activityService.createActivity(activity(itinerary, DAY, "10:00", 30));
+
+        List<ScheduleConflictDTO> conflicts = scheduleValidationService.getConflicts(itinerary.getId());
+        assertEquals(1, conflicts.size());
+        assertEquals(museum.getId(), conflicts.get(0).getFirstActivityId());
+        assertEquals(created.getId(), conflicts.get(0).getSecondActivityId());
+    }
+
+    @Test
+    void everyOverlappingActivityIsReportedInALargeItinerary() {
+        // 10k activities over 100 days; every 10th one is pushed back into the previous slot
+        List<ActivityDTO> activities = new ArrayList<>();
+        for (long i = 0; i < 10_000; i++) {
+            LocalTime start = LocalTime.of(8, 0).plusMinutes((i % 100) * 10 - (i % 10 == 9 ? 5 : 0));
+            activities.add(new ActivityDTO(i, "Activity " + i, "Stop", start, 10, BigDecimal.ONE,
+                    DAY.plusDays(i / 100), 41.9, 12.5, null, 1L, 0L));
+        }
+        Collections.shuffle(activities, new Random(3));
+
+        List<ScheduleConflictDTO> conflicts = scheduleValidationService.findConflicts(activities, true);
+
+        assertEquals(1000, conflicts.size());
+        for (ScheduleConflictDTO conflict : conflicts) {
+            assertEquals(ScheduleConflictDTO.Type.OVERLAP, conflict.getType());
+            assertEquals(5, conflict.getOverlapMinutes());
+            assertEquals(conflict.getFirstActivityId() + 1, conflict.getSecondActivityId());
+        }
+    }
+
+    private static ActivityDTO activity(Itinerary itinerary, LocalDate date, String startTime, int duration) {
+        return newActivity(itinerary.getId(), "New", date, LocalTime.parse(startTime), duration, BigDecimal.ONE);
+    }
+
+    private Activity persistActivity(Itinerary itinerary, LocalDate date, String startTime, int duration,
+                                     Double latitude, Double longitude) {
+        return fixtures.persistActivity(itinerary, "Activity " + startTime, date, LocalTime.parse(startTime), duration,
+                BigDecimal.ONE, latitude, longitude);
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.vacationPlanner.service;
+
+import com.example.vacationPlanner.model.Activity;
+import com.example.vacationPlanner.model.Itinerary;
+import com.example.vacationPlanner.model.User;
+import com.example.vacationPlanner.model.dto.ActivityDTO;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+// Users, itineraries and activities persisted straight through the entity manager, bypassing the services
+// (and so the budget rollups, caches and schedule checks) for the tests of @ServiceSliceTest
+class ServiceFixtures {
+
+    static final LocalDate DAY = LocalDate.of(2024, 6, 1);
+
+    private final TestEntityManager entityManager;
+
+    ServiceFixtures(TestEntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    User persistUser(String uid) {
+        User user = new User();
+        user.setFirebaseUid(uid);
+        user.setEmail(uid + "@example.com");
+        user.setName(uid);
+        return entityManager.persist(user);
+    }
+
+    // A five-day trip starting on DAY, flushed so native statements see it
+    Itinerary persistItinerary(User user) {
+        Itinerary itinerary = new Itinerary();
+        itinerary.setName("Trip");
+        itinerary.setLocation("Rome");
+        itinerary.setStartDate(DAY);
+        itinerary.setEndDate(DAY.plusDays(4));
+        itinerary.setUser(user);
+        entityManager.persist(itinerary);
+        entityManager.flush();
+        return itinerary;
+    }
+
+    Itinerary persistItinerary(String uid) {
+        return persistItinerary(persistUser(uid));
+    }
+
+    Activity persistActivity(Itinerary itinerary, String name, LocalDate date, LocalTime startTime, int duration,
+                             BigDecimal cost) {
+        return persistActivity(itinerary, name, date, startTime, duration, cost, null, null);
+    }
+
+    Activity persistActivity(Itinerary itinerary, String name, LocalDate date, LocalTime startTime, int duration,
+                             BigDecimal cost, Double latitude, Double longitude) {
+        Activity activity = new Activity();
+        activity.setName(name);
+        activity.setLocation("Stop");
+        activity.setStartTime(startTime);
+        activity.setDuration(duration);
+        activity.setCost(cost);
+        activity.setDate(date);
+        activity.setLatitude(latitude);
+        activity.setLongitude(longitude);
+        activity.setItinerary(itinerary);
+        return entityManager.persist(activity);
+    }
+
+    // An unsaved activity for the service write paths
+    static ActivityDTO newActivity(Long itineraryId, String name, LocalDate date, LocalTime startTime, int duration,
+                                   BigDecimal cost) {
+        return new ActivityDTO(null, name, "Stop", startTime, duration, cost, date, null, null, null, itineraryId, null);
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.vacationPlanner.service;
+
+import com.example.vacationPlanner.config.CacheConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// JPA slice with every service and what they depend on, plus ServiceFixtures and ActivityInsertRecorder. Tests with
+// the same properties share one application context, and a new service dependency is added here once.
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@DataJpaTest
+@Import({ActivityService.class, ItineraryService.class, UserService.class, RouteOptimizationService.class,
+        NearbyActivityService.class, ScheduleValidationService.class, BudgetRollupService.class,
+        TravelTimeService.class, CacheInvalidator.class, ItineraryEventBus.class, CacheConfig.class,
+        ServiceMetrics.class, SimpleMeterRegistry.class, ServiceFixtures.class, ActivityInsertRecorder.class})
+@interface ServiceSliceTest {
+}
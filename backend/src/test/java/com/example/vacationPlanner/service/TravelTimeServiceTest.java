@@ -0,0 +1,93 @@
+package com.example.vacationPlanner.service;
+
+import com.example.vacationPlanner.model.Activity;
+import com.example.vacationPlanner.model.Itinerary;
+import com.example.vacationPlanner.model.dto.TravelTimeMatrixDTO;
+import com.github.benmanes.caffeine.cache.Cache;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.util.ReflectionTestUtils;
+import java.math.BigDecimal;
+import java.time.LocalTime;
+
+import static com.example.vacationPlanner.service.ServiceFixtures.DAY;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ServiceSliceTest
+class TravelTimeServiceTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ServiceFixtures fixtures;
+
+    @Autowired
+    private TravelTimeService travelTimeService;
+
+    @Test
+    void travelMinutesAreClampedToFiveThroughOneHundredTwenty() {
+        assertEquals(5, travelTimeService.toMinutes(0));
+        assertEquals(5, travelTimeService.toMinutes(2.5));
+        assertEquals(6, travelTimeService.toMinutes(2.6));
+        assertEquals(20, travelTimeService.toMinutes(10));
+        assertEquals(120, travelTimeService.toMinutes(60));
+        assertEquals(120, travelTimeService.toMinutes(500));
+    }
+
+    @Test
+    void matrixIsSymmetricAndSkipsActivitiesWithoutCoordinates() {
+        Itinerary itinerary = fixtures.persistItinerary("uid-matrix");
+        Activity lunch = persistActivity(itinerary, "12:00", 41.90, 12.50);
+        Activity museum = persistActivity(itinerary, "09:00", 41.89, 12.49);
+        persistActivity(itinerary, "10:00", null, null);
+        Activity villa = persistActivity(itinerary, "15:00", 41.91, 12.49);
+        entityManager.flush();
+        entityManager.clear();
+
+        TravelTimeMatrixDTO matrix = travelTimeService.getTravelTimeMatrix(itinerary.getId()).orElseThrow();
+
+        assertArrayEquals(new long[]{museum.getId(), lunch.getId(), villa.getId()}, matrix.getActivityIds());
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, matrix.getDurationMinutes()[i][i]);
+            for (int j = 0; j < 3; j++) {
+                assertEquals(matrix.getDurationMinutes()[i][j], matrix.getDurationMinutes()[j][i]);
+                assertEquals(matrix.getDistanceKm()[i][j], matrix.getDistanceKm()[j][i]);
+                if (i != j) {
+                    assertTrue(matrix.getDurationMinutes()[i][j] >= 5);
+                }
+            }
+        }
+    }
+
+    @Test
+    void matrixOfAnUnknownItineraryIsEmpty() {
+        assertTrue(travelTimeService.getTravelTimeMatrix(-1L).isEmpty());
+    }
+
+    @Test
+    void nearbyPointsAndBothDirectionsShareOneCacheEntry() {
+        Cache<?, ?> cache = (Cache<?, ?>) ReflectionTestUtils.getField(travelTimeService, "cache");
+        cache.invalidateAll();
+
+        // 1e-4 degree cells: 41.90001 and 41.90004 both round to 41.9000, 41.90006 rounds to 41.9001
+        double there = travelTimeService.getDistanceKm(41.90001, 12.50001, 41.95, 12.51);
+        double back = travelTimeService.getDistanceKm(41.95, 12.51, 41.90004, 12.49996);
+        cache.cleanUp();
+        assertEquals(1, cache.estimatedSize());
+        assertEquals(there, back);
+        assertEquals(TravelTimeService.haversineKm(41.9, 12.5, 41.95, 12.51), there, 1e-9);
+
+        travelTimeService.getDistanceKm(41.90006, 12.5, 41.95, 12.51);
+        cache.cleanUp();
+        assertEquals(2, cache.estimatedSize());
+    }
+
+    private Activity persistActivity(Itinerary itinerary, String startTime, Double latitude, Double longitude) {
+        return fixtures.persistActivity(itinerary, "Activity " + startTime, DAY, LocalTime.parse(startTime), 60,
+                BigDecimal.ONE, latitude, longitude);
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.vacationPlanner.service;
+
+import com.example.vacationPlanner.model.User;
+import com.example.vacationPlanner.model.dto.UserDTO;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@ServiceSliceTest
+class UserServiceTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private UserService userService;
+
+    @Test
+    void usersAreReadFromTheCacheByIdAndByFirebaseUid() {
+        UserDTO created = userService.createOrUpdateUser(new UserDTO(null, "uid-cached", "cached@example.com", "Cached"));
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = statistics();
+        statistics.clear();
+        assertEquals(created, userService.getUserById(created.id()).orElseThrow());
+        assertEquals(created, userService.getUserByFirebaseUid("uid-cached").orElseThrow());
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void updatedProfileReplacesBothCachedEntries() {
+        UserDTO created = userService.createOrUpdateUser(new UserDTO(null, "uid-renamed", "old@example.com", "Old"));
+        userService.getUserById(created.id());
+        userService.getUserByFirebaseUid("uid-renamed");
+
+        userService.createOrUpdateUser(new UserDTO(null, "uid-renamed", "new@example.com", "New"));
+        entityManager.flush();
+
+        UserDTO expected = new UserDTO(created.id(), "uid-renamed", "new@example.com", "New");
+        assertEquals(expected, userService.getUserById(created.id()).orElseThrow());
+        assertEquals(expected, userService.getUserByFirebaseUid("uid-renamed").orElseThrow());
+        assertEquals("New", entityManager.find(User.class, created.id()).getName());
+    }
+
+    @Test
+    void unchangedProfileIsNotWrittenAgain() {
+        UserDTO created = userService.createOrUpdateUser(new UserDTO(null, "uid-login", "login@example.com", "Login"));
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = statistics();
+        statistics.clear();
+        UserDTO again = userService.createOrUpdateUser(new UserDTO(null, "uid-login", "login@example.com", "Login"));
+        entityManager.flush();
+
+        assertEquals(created, again);
+        assertEquals(0, statistics.getEntityUpdateCount());
+        assertEquals(0, statistics.getEntityInsertCount());
+    }
+
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+}
@@ -0,0 +1,19 @@
+package db.migration;
+
+import com.example.vacationPlanner.model.GeoCell;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class BackfillActivityGeoCellTest {
+
+    // Fails when GeoCell.encode changes: rows backfilled by V6 then need re-encoding by a new migration
+    @Test
+    void backfilledCodesMatchTheCodesTheAppWrites() {
+        double[][] points = {{41.8902, 12.4922}, {-33.8568, 151.2153}, {90, 180}, {-90, -180}, {0, 0}};
+        for (double[] point : points) {
+            assertEquals(GeoCell.encode(point[0], point[1]),
+                    V6__Backfill_activity_geo_cell.encode(point[0], point[1]));
+        }
+    }
+}